@@ -1,23 +1,79 @@
 package com.dmarket.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+/**
+ * @Async 실행기 (async.executor.mode)
+ * - pool: 작은 platform thread pool + 넉넉한 큐, 지표 async.executor.queue / async.executor.rejected
+ * - virtual: 작업마다 virtual thread (JDK 21 이상에서 실행할 때만, 아니면 pool 로 대체)
+ * - 외부 자원(SMTP, SSE)별 동시 실행 수는 DownstreamLimiter 로 제한
+ * - 사용처: 메일 발송 (MailService), 알림 저장은 NotificationWriter 전용 스레드에서 처리하므로 쓰지 않음
+ */
+@Slf4j
 @EnableAsync
 @Configuration
+@RequiredArgsConstructor
 public class AsyncConfig implements AsyncConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${async.executor.mode:pool}")
+    private String mode;
+    @Value("${async.executor.core-size:4}")
+    private int coreSize;
+    @Value("${async.executor.max-size:8}")
+    private int maxSize;
+    @Value("${async.executor.queue-capacity:10000}")
+    private int queueCapacity;
+
     @Override
     public Executor getAsyncExecutor() {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            if (Runtime.version().feature() >= 21) {
+                SimpleAsyncTaskExecutor asyncExecutor = new SimpleAsyncTaskExecutor("async-vt-");
+                asyncExecutor.setVirtualThreads(true);
+                return asyncExecutor;
+            }
+            log.warn("virtual thread 는 JDK 21 이상에서만 사용 가능, pool 로 실행 (현재 JDK {})", Runtime.version().feature());
+        }
+        return threadPoolExecutor();
+    }
+
+    private Executor threadPoolExecutor() {
+        Counter rejected = Counter.builder("async.executor.rejected")
+                .description("큐가 가득 차 거절된 @Async 작업 수")
+                .register(meterRegistry);
+
         ThreadPoolTaskExecutor asyncExecutor = new ThreadPoolTaskExecutor();
         asyncExecutor.setThreadNamePrefix("async-pool");
-        asyncExecutor.setCorePoolSize(300);
-        asyncExecutor.setMaxPoolSize(600);
-        asyncExecutor.setQueueCapacity(100);
+        asyncExecutor.setCorePoolSize(coreSize);
+        asyncExecutor.setMaxPoolSize(maxSize);
+        asyncExecutor.setQueueCapacity(queueCapacity);
+        asyncExecutor.setRejectedExecutionHandler((task, executor) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("@Async 작업 큐가 가득 참 (" + queueCapacity + ")");
+        });
         asyncExecutor.initialize();
+
+        Gauge.builder("async.executor.queue", asyncExecutor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("대기 중인 @Async 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("async.executor.active", asyncExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("실행 중인 @Async 작업 수")
+                .register(meterRegistry);
         return asyncExecutor;
     }
 }
@@ -0,0 +1,81 @@
+package com.dmarket.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 외부 자원별 동시 실행 수 제한 (Semaphore)
+ * - 실행기 스레드 수와 관계없이 SMTP, SSE 로 동시에 나가는 작업 수를 제한
+ * - DB 는 @Async 로 실행하는 작업이 없고 커넥션 풀이 동시 사용 수를 제한하므로 두지 않음
+ * - 지표 (downstream 태그): async.downstream.in-use, async.downstream.waiting, async.downstream.rejected
+ */
+@Component
+public class DownstreamLimiter {
+
+    public enum Downstream {
+        SMTP, SSE
+    }
+
+    private final Map<Downstream, Semaphore> semaphores = new EnumMap<>(Downstream.class);
+    private final Map<Downstream, Counter> rejectedCounters = new EnumMap<>(Downstream.class);
+    private final long acquireTimeoutMillis;
+
+    public DownstreamLimiter(MeterRegistry meterRegistry,
+                             @Value("${async.limit.smtp:4}") int smtpPermits,
+                             @Value("${async.limit.sse:64}") int ssePermits,
+                             @Value("${async.limit.acquire-timeout-millis:10000}") long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        register(meterRegistry, Downstream.SMTP, smtpPermits);
+        register(meterRegistry, Downstream.SSE, ssePermits);
+    }
+
+    private void register(MeterRegistry meterRegistry, Downstream downstream, int permits) {
+        Semaphore semaphore = new Semaphore(permits, true);
+        semaphores.put(downstream, semaphore);
+        String tag = downstream.name().toLowerCase();
+        Gauge.builder("async.downstream.in-use", semaphore, s -> permits - s.availablePermits())
+                .tag("downstream", tag)
+                .register(meterRegistry);
+        Gauge.builder("async.downstream.waiting", semaphore, Semaphore::getQueueLength)
+                .tag("downstream", tag)
+                .register(meterRegistry);
+        rejectedCounters.put(downstream, Counter.builder("async.downstream.rejected")
+                .tag("downstream", tag)
+                .register(meterRegistry));
+    }
+
+    public void run(Downstream downstream, Runnable task) {
+        call(downstream, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    // 제한 시간 안에 실행 자리를 얻지 못하면 거절 (IllegalStateException)
+    public <T> T call(Downstream downstream, Supplier<T> task) {
+        Semaphore semaphore = semaphores.get(downstream);
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejectedCounters.get(downstream).increment();
+                throw new IllegalStateException(downstream + " 동시 실행 한도 초과");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(downstream + " 실행 대기 중 중단됨", e);
+        }
+        try {
+            return task.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.dmarket.config;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.message.BasicHeader;
+import org.elasticsearch.client.RestClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ElasticsearchConfig {
+
+    @Value("${elasticsearch.serverUrl}")
+    private String serverUrl;
+    @Value("${elasticsearch.apiKey}")
+    private String apiKey;
+
+    // 커넥션 풀 크기 (전체 / 노드별)
+    @Value("${elasticsearch.pool.max-total:100}")
+    private int maxConnTotal;
+    @Value("${elasticsearch.pool.max-per-route:100}")
+    private int maxConnPerRoute;
+
+    // 연결, 응답, 풀에서 커넥션을 얻기까지의 대기 시간
+    @Value("${elasticsearch.connect-timeout-millis:1000}")
+    private int connectTimeoutMillis;
+    @Value("${elasticsearch.socket-timeout-millis:3000}")
+    private int socketTimeoutMillis;
+    @Value("${elasticsearch.connection-request-timeout-millis:500}")
+    private int connectionRequestTimeoutMillis;
+
+    // 유휴 커넥션 재사용 시간 (중간 장비가 먼저 끊은 커넥션을 쓰지 않도록 짧게 유지)
+    @Value("${elasticsearch.keep-alive-millis:60000}")
+    private long keepAliveMillis;
+
+    // 비동기 검색 후처리, DB 대체 검색 스레드 수
+    @Value("${elasticsearch.search-executor.pool-size:8}")
+    private int searchExecutorPoolSize;
+
+    @Bean(destroyMethod = "close")
+    public RestClient elasticsearchRestClient() {
+        return RestClient
+                .builder(HttpHost.create(serverUrl))
+                .setDefaultHeaders(new Header[]{
+                        new BasicHeader("Authorization", "ApiKey " + apiKey)
+                })
+                .setRequestConfigCallback(requestConfig -> requestConfig
+                        .setConnectTimeout(connectTimeoutMillis)
+                        .setSocketTimeout(socketTimeoutMillis)
+                        .setConnectionRequestTimeout(connectionRequestTimeoutMillis))
+                .setHttpClientConfigCallback(httpClient -> httpClient
+                        .setMaxConnTotal(maxConnTotal)
+                        .setMaxConnPerRoute(maxConnPerRoute)
+                        .setKeepAliveStrategy((response, context) -> keepAliveMillis))
+                .build();
+    }
+
+    // 동기, 비동기 클라이언트가 같은 커넥션 풀을 공유
+    @Bean
+    public ElasticsearchTransport elasticsearchTransport(RestClient elasticsearchRestClient) {
+        return new RestClientTransport(elasticsearchRestClient, new JacksonJsonpMapper());
+    }
+
+    @Bean
+    public ElasticsearchClient elasticsearchClient(ElasticsearchTransport elasticsearchTransport) {
+        return new ElasticsearchClient(elasticsearchTransport);
+    }
+
+    @Bean
+    public ElasticsearchAsyncClient elasticsearchAsyncClient(ElasticsearchTransport elasticsearchTransport) {
+        return new ElasticsearchAsyncClient(elasticsearchTransport);
+    }
+
+    // 비동기 검색 응답의 캐시 저장, 장애 시 DB 검색을 수행하는 스레드 (ES I/O 스레드에서 Redis, JDBC 호출을 하지 않도록 분리)
+    @Bean
+    public ThreadPoolTaskExecutor searchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("search-");
+        executor.setCorePoolSize(searchExecutorPoolSize);
+        executor.setMaxPoolSize(searchExecutorPoolSize);
+        executor.setQueueCapacity(1000);
+        executor.initialize();
+        return executor;
+    }
+}
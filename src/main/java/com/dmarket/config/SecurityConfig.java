@@ -1,8 +1,7 @@
 package com.dmarket.config;
 
 import com.dmarket.jwt.*;
-import com.dmarket.repository.user.RefreshTokenRepository;
-import com.dmarket.repository.user.UserRepository;
+import com.dmarket.repository.user.RefreshTokenStore;
 import com.dmarket.service.LogoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,8 +37,10 @@ public class SecurityConfig {
 
     private final AuthenticationConfiguration authenticationConfiguration;
     private final JWTUtil jwtUtil;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final UserRepository userRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserSnapshotCache userSnapshotCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final SecurityResponseWriter securityResponseWriter;
     private final LogoutService logoutService;
 
     @Value("${spring.cors.path}")
@@ -114,17 +115,17 @@ public class SecurityConfig {
         // Error Handling
         http
                 .exceptionHandling((eh) -> eh
-                        .authenticationEntryPoint(new CustomAuthenticationEntryPoint(jwtUtil))
-                        .accessDeniedHandler(new CustomAccessDeniedHandler()));
+                        .authenticationEntryPoint(new CustomAuthenticationEntryPoint(jwtUtil, securityResponseWriter))
+                        .accessDeniedHandler(new CustomAccessDeniedHandler(securityResponseWriter)));
 
         // UsernamePasswordAuthenticationFilter 자리에 LoginFilter 삽입 (실제로 override 되지는 않음)
-        http.addFilterAt(new LoginFilter(authenticationManager(authenticationConfiguration), jwtUtil, refreshTokenRepository), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAt(new LoginFilter(authenticationManager(authenticationConfiguration), jwtUtil, refreshTokenStore, securityResponseWriter), UsernamePasswordAuthenticationFilter.class);
 
         // LoginFilter 앞에 JWTFilter 삽입
-        http.addFilterBefore(new JWTFilter(jwtUtil, userRepository, refreshTokenRepository), LoginFilter.class);
+        http.addFilterBefore(new JWTFilter(jwtUtil, userSnapshotCache, refreshTokenStore, accessTokenDenylist, securityResponseWriter), LoginFilter.class);
 
         // JWTFilter 앞에 ExceptionHandlerFilter 삽입
-//        http.addFilterBefore(new ExceptionHandlerFilter(jwtUtil), JWTFilter.class);
+//        http.addFilterBefore(new ExceptionHandlerFilter(jwtUtil, securityResponseWriter), JWTFilter.class);
 
         return http.build();
     }
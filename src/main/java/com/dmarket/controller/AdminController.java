@@ -9,6 +9,7 @@ import com.dmarket.dto.request.*;
 import com.dmarket.dto.response.*;
 import com.dmarket.jwt.JWTUtil;
 import com.dmarket.service.AdminService;
+import com.dmarket.service.ProductReindexService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +32,7 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final ProductReindexService productReindexService;
     private final JWTUtil jwtUtil;
 
 
@@ -303,6 +306,20 @@ public class AdminController {
         return new ResponseEntity<>(CMResDto.successDataRes(dtos), HttpStatus.OK);
     }
 
+    // 상품 검색 인덱스 재색인 시작 (중단된 재색인이 있으면 이어서 진행)
+    @PostMapping("/products/reindex")
+    public ResponseEntity<CMResDto<AdminResDto.SearchReindexResDto>> reindexProducts() throws IOException {
+        AdminResDto.SearchReindexResDto status = productReindexService.start();
+        return new ResponseEntity<>(CMResDto.successDataRes(status), HttpStatus.OK);
+    }
+
+    // 상품 검색 인덱스 재색인 진행 상태
+    @GetMapping("/products/reindex")
+    public ResponseEntity<CMResDto<AdminResDto.SearchReindexResDto>> getReindexStatus() {
+        AdminResDto.SearchReindexResDto status = productReindexService.getStatus();
+        return new ResponseEntity<>(CMResDto.successDataRes(status), HttpStatus.OK);
+    }
+
     /**
      * 상품 옵션: ProductOption
      */
@@ -380,6 +397,15 @@ public class AdminController {
         return new ResponseEntity<>(CMResDto.successDataRes(responseData), HttpStatus.OK);
     }
 
+    // 배송 목록 커서 조회 (상태별 개수는 기존 배송 목록 조회 api 에서 조회)
+    @GetMapping("/orders/cursor")
+    public ResponseEntity<CMResDto<CursorResDto<OrderListAdminResDto>>> getOrdersByStatusByCursor(@RequestParam String status,
+                                               @RequestParam(required = false, value = "cursor") String cursor,
+                                               @RequestParam(required = false, value = "total", defaultValue = "false") boolean withTotal) {
+        CursorResDto<OrderListAdminResDto> orderList = adminService.getOrdersByStatusByCursor(status, cursor, withTotal);
+        return new ResponseEntity<>(CMResDto.successDataRes(orderList), HttpStatus.OK);
+    }
+
     @GetMapping("/orders/{orderId}/delivery-address")
     public ResponseEntity<CMResDto<UserResDto.UserDeliveryAddress>> getDeliveryAddress(@PathVariable Long orderId){
         UserResDto.UserDeliveryAddress deliveryAddress = adminService.getDeliveryAddress(orderId);
@@ -6,6 +6,7 @@ import com.dmarket.dto.request.QnaReqDto;
 import com.dmarket.dto.request.ReviewReqDto;
 import com.dmarket.dto.response.CMResDto;
 import com.dmarket.dto.response.CategoryResDto;
+import com.dmarket.dto.response.CursorResDto;
 import com.dmarket.dto.response.ProductResDto;
 import com.dmarket.dto.response.QnaResDto;
 import com.dmarket.service.ProductService;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -58,6 +60,21 @@ public class ProductController {
         return new ResponseEntity<>(CMResDto.successDataRes(products), HttpStatus.OK);
     }
 
+    // 카테고리별 상품 목록 커서 조회 api (응답의 nextCursor 를 다음 요청의 cursor 로 전달)
+    @GetMapping(value = "/categories/{cateId}/cursor")
+    public ResponseEntity<CMResDto<CursorResDto<ProductResDto.ProductListResDto>>> getCategoryProductsByCursor(@PathVariable Long cateId,
+            @RequestParam(required = false, value = "sorter", defaultValue = "review_count") String sorter,
+            @RequestParam(required = false, value = "min-price", defaultValue = "0") Integer minPrice,
+            @RequestParam(required = false, value = "max-price", defaultValue = "9999999") Integer maxPrice,
+            @RequestParam(required = false, value = "star", defaultValue = "0.0F") Float star,
+            @RequestParam(required = false, value = "cursor") String cursor,
+            @RequestParam(required = false, value = "total", defaultValue = "false") boolean withTotal) {
+        CursorResDto<ProductResDto.ProductListResDto> products = productService.getCategoryProductsByCursor(cursor, cateId, sorter,
+                minPrice, maxPrice, star, withTotal);
+        log.info("데이터 조회 완료");
+        return new ResponseEntity<>(CMResDto.successDataRes(products), HttpStatus.OK);
+    }
+
     // 상품 목록 조건 검색 api
     @GetMapping("/search")
     public ResponseEntity<CMResDto<ProductResDto.ProductSearchListResDto>> getSearchProducts(@RequestParam(required = true, value = "q") String query,
@@ -65,15 +82,29 @@ public class ProductController {
             @RequestParam(required = false, value = "min-price", defaultValue = "0") Integer minPrice,
             @RequestParam(required = false, value = "max-price", defaultValue = "9999999") Integer maxPrice,
             @RequestParam(required = false, value = "star", defaultValue = "0") Float star,
-            @RequestParam(required = false, value = "page", defaultValue = "0") int pageNo) throws IOException {
+            @RequestParam(required = false, value = "page", defaultValue = "0") int pageNo,
+            @RequestParam(required = false, value = "cursor") String cursor) throws IOException {
 
         //Page<ProductResDto.ProductListResDto> products = productService.getSearchProducts(pageNo, query, sorter, minPrice, maxPrice, star);
-        ProductResDto.ProductSearchListResDto products = productService.getSearchProducts(pageNo , query,
+        ProductResDto.ProductSearchListResDto products = productService.getSearchProducts(pageNo, cursor, query,
                 sorter, minPrice, maxPrice, star);
         log.info("데이터 조회 완료");
         return new ResponseEntity<>(CMResDto.successDataRes(products), HttpStatus.OK);
     }
 
+    // 상품 목록 조건 검색 api (비동기, ES 응답을 기다리는 동안 요청 스레드 반환)
+    @GetMapping("/search/async")
+    public CompletableFuture<ResponseEntity<CMResDto<ProductResDto.ProductSearchListResDto>>> getSearchProductsAsync(@RequestParam(required = true, value = "q") String query,
+            @RequestParam(required = false, value = "sorter", defaultValue = "review_count") String sorter,
+            @RequestParam(required = false, value = "min-price", defaultValue = "0") Integer minPrice,
+            @RequestParam(required = false, value = "max-price", defaultValue = "9999999") Integer maxPrice,
+            @RequestParam(required = false, value = "star", defaultValue = "0") Float star,
+            @RequestParam(required = false, value = "page", defaultValue = "0") int pageNo,
+            @RequestParam(required = false, value = "cursor") String cursor) {
+        return productService.getSearchProductsAsync(pageNo, cursor, query, sorter, minPrice, maxPrice, star)
+                .thenApply(products -> new ResponseEntity<>(CMResDto.successDataRes(products), HttpStatus.OK));
+    }
+
     // 최신 상품 조회
     @GetMapping("/new-products")
     public ResponseEntity<CMResDto<List<Object>>> getLatestProducts() {
@@ -6,6 +6,7 @@ import com.dmarket.domain.user.User;
 import com.dmarket.dto.common.CartCommonDto;
 import com.dmarket.dto.common.InquiryRequestDto;
 import com.dmarket.dto.common.MileageCommonDto;
+import com.dmarket.dto.common.OrderCommonDto;
 import com.dmarket.dto.request.*;
 import com.dmarket.dto.response.*;
 import com.dmarket.exception.ErrorCode;
@@ -303,6 +304,21 @@ public class UserController {
         return new ResponseEntity<>(CMResDto.successDataRes(res), HttpStatus.OK);
     }
 
+    // 마일리지 사용(충전) 내역 커서 조회 api
+    @GetMapping("/{userId}/mypage/mileage-usage/cursor")
+    public ResponseEntity<?> getMileageUsageByCursor(@PathVariable Long userId,
+                                                     @RequestParam(required = false, value = "cursor") String cursor,
+                                                     @RequestParam(required = false, value = "total", defaultValue = "false") boolean withTotal,
+                                                     HttpServletRequest request) {
+        ResponseEntity<CMResDto<String>> authorization = checkAuthorization(userId, request);
+        if(authorization != null){
+            return authorization;
+        }
+
+        CursorResDto<MileageCommonDto.MileageDto> res = userService.getMileageUsageByCursor(userId, cursor, withTotal);
+        return new ResponseEntity<>(CMResDto.successDataRes(res), HttpStatus.OK);
+    }
+
     // 마일리지 충전 요청 api
     @PostMapping("/{userId}/mypage/mileage-charge")
     public ResponseEntity<CMResDto<String>> mileageChargeReq(@PathVariable Long userId,
@@ -358,6 +374,21 @@ public class UserController {
         return new ResponseEntity<>(CMResDto.successDataRes(userOrderListResDtos), HttpStatus.OK);
     }
 
+    // 주문 / 배송 내역 커서 조회
+    @GetMapping("/{userId}/mypage/orders/cursor")
+    public ResponseEntity<?> getUserOrderListByCursor(@PathVariable(name = "userId") Long userId,
+                                                      @RequestParam(required = false, value = "cursor") String cursor,
+                                                      @RequestParam(required = false, value = "total", defaultValue = "false") boolean withTotal,
+                                                      HttpServletRequest request) {
+        ResponseEntity<CMResDto<String>> authorization = checkAuthorization(userId, request);
+        if(authorization != null){
+            return authorization;
+        }
+        CursorResDto<OrderCommonDto.OrderListDto> orderList = userService.getOrderListByCursor(userId, cursor, withTotal);
+        log.info("데이터 조회 완료");
+        return new ResponseEntity<>(CMResDto.successDataRes(orderList), HttpStatus.OK);
+    }
+
     // 주문 취소 요청
     @PostMapping("/{userId}/mypage/order/cancel")
     public ResponseEntity<?> postOrderCancel(@PathVariable(name = "userId") Long userId,
@@ -2,6 +2,7 @@ package com.dmarket.domain.document;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
@@ -13,6 +14,7 @@ import java.util.Date;
 import java.util.List;
 
 @Getter
+@Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(indexName = "new-product")
@@ -44,4 +46,6 @@ public class ProductDocument {
     private ImgDocument imgs_enriched;
     @Field(name = "review_enriched", type = FieldType.Object)
     private List<ReviewDocument> review_enriched;
+    @Field(name = "review_count", type = FieldType.Integer)
+    private Integer review_count;
 }
\ No newline at end of file
@@ -11,7 +11,9 @@ import java.time.temporal.ChronoUnit;
 
 @Entity
 @Getter
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_date", columnList = "user_id, order_date, order_id")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
 
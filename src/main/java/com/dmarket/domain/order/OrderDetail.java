@@ -11,11 +11,14 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 @Entity
+@Table(indexes = @Index(name = "idx_order_detail_order_state", columnList = "order_id, order_detail_state"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SequenceGenerator(name = "order_detail_seq_generator", sequenceName = "order_detail_seq", allocationSize = 50)
 public class OrderDetail {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 주문 상세 일괄 저장 시 JDBC batch insert 를 위해 IDENTITY 대신 SEQUENCE 사용
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_detail_seq_generator")
     private Long orderDetailId;
 
     private Long orderId;
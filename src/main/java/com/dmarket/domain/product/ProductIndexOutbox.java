@@ -0,0 +1,31 @@
+package com.dmarket.domain.product;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// 검색 인덱스에 반영할 상품 변경 기록 (상품 변경과 같은 트랜잭션에서 저장, ProductIndexService 가 색인 후 삭제)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductIndexOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long outboxId;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdDate;
+
+    public ProductIndexOutbox(Long productId) {
+        this.productId = productId;
+        this.createdDate = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,54 @@
+package com.dmarket.domain.product;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// 카테고리별 상품 목록 조회용 읽기 모델 (리뷰 수, 대표 이미지, 옵션 존재 여부를 미리 계산해 저장)
+// ProductListingRepository.refresh 로만 갱신
+@Entity
+@Getter
+@Immutable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "product_listing", indexes = {
+        @Index(name = "idx_listing_category_created", columnList = "category_id, product_created_date, product_id"),
+        @Index(name = "idx_listing_category_review", columnList = "category_id, review_cnt, product_id"),
+        @Index(name = "idx_listing_category_rating_key", columnList = "category_id, rating_key, product_id")
+})
+public class ProductListing {
+
+    @Id
+    private Long productId;
+
+    private Long categoryId;
+
+    private String productBrand;
+
+    private String productName;
+
+    @Column(columnDefinition = "TEXT")
+    private String productImg;
+
+    private Integer productSalePrice;
+
+    private Integer productDiscountRate;
+
+    private Float productRating;
+
+    // 평점 x 100 (소수 셋째 자리에서 반올림), 평점 순 커서 조회의 정렬 키
+    // Float 는 커서로 받은 값과 같은지 비교가 정확하지 않아 같은 평점의 상품을 건너뛰거나 반복할 수 있음
+    private Integer ratingKey;
+
+    @Column(nullable = false)
+    private Long reviewCnt;
+
+    // 옵션이 하나 이상 등록된 상품 여부 (기존 목록 조회의 exists 조건과 동일)
+    @Column(nullable = false)
+    private Boolean inStock;
+
+    private LocalDateTime productCreatedDate;
+}
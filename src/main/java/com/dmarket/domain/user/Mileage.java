@@ -12,6 +12,9 @@ import java.time.temporal.ChronoUnit;
 
 @Entity
 @Getter
+@Table(indexes = {
+        @Index(name = "idx_mileage_user_date", columnList = "user_id, mileage_date, mileage_id")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Mileage {
 
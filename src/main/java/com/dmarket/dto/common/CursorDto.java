@@ -0,0 +1,85 @@
+package com.dmarket.dto.common;
+
+import com.dmarket.exception.BadRequestException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static com.dmarket.exception.ErrorCode.INVALID_CURSOR;
+
+/**
+ * 커서(keyset) pagination 연속 토큰
+ * - 마지막으로 내려준 행의 정렬 키와 id 를 "정렬키|id" 형태로 묶어 Base64(URL-safe) 인코딩
+ * - 다음 페이지는 (정렬키, id) 보다 작은 행부터 조회하므로 페이지 깊이와 관계없이 비용이 같음
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorDto {
+
+    private static final String DELIMITER = "|";
+
+    // 첫 페이지 조회용 시작점 (내림차순 정렬에서 모든 행보다 큰 값)
+    public static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    public static final CursorDto FIRST = new CursorDto(null, Long.MAX_VALUE);
+
+    private final String sortKey;
+    private final Long id;
+
+    public static CursorDto of(Object sortKey, Long id) {
+        return new CursorDto(String.valueOf(sortKey), id);
+    }
+
+    public String encode() {
+        String raw = sortKey + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 커서가 없으면 첫 페이지
+    public static CursorDto decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(DELIMITER);
+            if (idx < 0) {
+                throw new BadRequestException(INVALID_CURSOR);
+            }
+            return new CursorDto(raw.substring(0, idx), Long.parseLong(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+    }
+
+    public boolean isFirst() {
+        return sortKey == null;
+    }
+
+    public LocalDateTime dateKey() {
+        try {
+            return isFirst() ? MAX_DATE : LocalDateTime.parse(sortKey);
+        } catch (RuntimeException e) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+    }
+
+    public Long longKey() {
+        try {
+            return isFirst() ? Long.MAX_VALUE : Long.parseLong(sortKey);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+    }
+
+    public Integer intKey() {
+        try {
+            return isFirst() ? Integer.MAX_VALUE : Integer.parseInt(sortKey);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+    }
+}
@@ -56,4 +56,19 @@ public class AdminResDto {
             this.userJoinDate = userJoinDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
         }
     }
+
+    // 상품 검색 인덱스 재색인 진행 상태 (Redis 에 체크포인트로 저장)
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchReindexResDto {
+        private String targetIndex;
+        private String state; // RUNNING, FAILED, DONE
+        private Long lastProductId; // 이 id 까지의 상품은 모두 적재됨
+        private Long indexedCount;
+        private Double docsPerSecond;
+        private LocalDateTime startedDate;
+        private LocalDateTime finishedDate;
+    }
 }
@@ -0,0 +1,39 @@
+package com.dmarket.dto.response;
+
+import com.dmarket.dto.common.CursorDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorResDto<T> {
+    // 커서 pagination 응답
+
+    private List<T> content;
+
+    // 다음 페이지 요청 시 cursor 파라미터로 전달 (마지막 페이지면 null)
+    private String nextCursor;
+    private boolean hasNext;
+
+    // total=true 로 요청한 경우에만 포함
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalCount;
+
+    // size + 1 건을 조회한 결과로 다음 페이지 여부 판단
+    public static <T> CursorResDto<T> of(List<T> rows, int size, Function<T, CursorDto> cursorOf, Long totalCount) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(size - 1)).encode() : null;
+        return new CursorResDto<>(content, nextCursor, hasNext, totalCount);
+    }
+
+    public <R> CursorResDto<R> map(Function<T, R> mapper) {
+        return new CursorResDto<>(content.stream().map(mapper).toList(), nextCursor, hasNext, totalCount);
+    }
+}
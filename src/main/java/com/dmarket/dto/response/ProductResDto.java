@@ -2,6 +2,7 @@ package com.dmarket.dto.response;
 
 import com.dmarket.domain.product.Product;
 import com.dmarket.dto.common.ProductCommonDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
@@ -36,6 +37,9 @@ public class ProductResDto {
     public static class ProductSearchListResDto {
         private int totalPages;
         private List<ProductCommonDto.ProductSearchListDto> productList;
+        // 리뷰 많은 순 검색의 다음 페이지 커서 (search_after)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String nextCursor;
     }
 
     @Data
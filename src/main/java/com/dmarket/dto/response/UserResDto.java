@@ -104,11 +104,31 @@ public class UserResDto {
 
     }
 
-    @RequiredArgsConstructor
+    // 로그인 시에는 DB 의 사용자, 이후 요청에서는 access token 의 claim 으로 생성
     public static class CustomUserDetails implements UserDetails {
 
-        private final User userEntity;
+        private final Long userId;
+        private final String email;
+        private final String userName;
+        private final String password;
+        private final String role;
+
+        public CustomUserDetails(User userEntity) {
+            this.userId = userEntity.getUserId();
+            this.email = userEntity.getUserEmail();
+            this.userName = userEntity.getUserName();
+            this.password = userEntity.getUserPassword();
+            this.role = String.valueOf(userEntity.getUserRole());
+        }
 
+        // access token claim 으로 생성 (비밀번호, 이름 없음)
+        public CustomUserDetails(Long userId, String email, String role) {
+            this.userId = userId;
+            this.email = email;
+            this.userName = email;
+            this.password = null;
+            this.role = role;
+        }
 
         @Override
         public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -116,7 +136,7 @@ public class UserResDto {
             collection.add(new GrantedAuthority() {
                 @Override
                 public String getAuthority() {
-                    return String.valueOf(userEntity.getUserRole());
+                    return role;
                 }
             });
             return collection;
@@ -124,20 +144,20 @@ public class UserResDto {
 
         @Override
         public String getPassword() {
-            return userEntity.getUserPassword();
+            return password;
         }
 
         @Override
         public String getUsername() {
-            return userEntity.getUserName();
+            return userName;
         }
 
         public Long getUserId() {
-            return userEntity.getUserId();
+            return userId;
         }
 
         public String getEmail() {
-            return userEntity.getUserEmail();
+            return email;
         }
 
         @Override
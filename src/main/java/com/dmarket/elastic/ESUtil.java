@@ -10,6 +10,9 @@ import java.util.List;
 import java.util.function.Supplier;
 
 public class ESUtil {
+    // 상품 검색 인덱스 (재색인 후에는 new-product-v{시각} 버전 인덱스를 가리키는 alias)
+    public static final String PRODUCT_INDEX = "new-product";
+
     public static Supplier<Query> supplierQueryForMultiMatch(String key, List<String> fields){
         return () ->Query.of(q->q.multiMatch(multiMatchQuery(key, fields)));
     }
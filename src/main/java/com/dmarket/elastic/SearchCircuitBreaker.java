@@ -0,0 +1,66 @@
+package com.dmarket.elastic;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Elasticsearch 검색 서킷 브레이커
+ * - 연속 실패가 failure-threshold 에 도달하면 open-duration 동안 검색을 보내지 않음 (호출하는 쪽에서 DB 검색으로 대체)
+ * - open 기간이 끝나면 한 요청만 시험 삼아 보내고, 성공하면 닫고 실패하면 다시 open
+ * - 시험 요청이 open-duration 안에 결과를 남기지 않으면 다음 요청이 시험 요청을 이어받음
+ */
+@Slf4j
+@Component
+public class SearchCircuitBreaker {
+
+    @Value("${elasticsearch.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${elasticsearch.circuit-breaker.open-duration-millis:10000}")
+    private long openDurationMillis;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // 시험 요청을 보낸 시각, 0 이면 시험 요청 없음
+    private final AtomicLong probeStartedAt = new AtomicLong();
+
+    // 0 이면 닫힌 상태
+    private volatile long openUntil = 0;
+
+    public boolean allowRequest() {
+        long until = openUntil;
+        if (until == 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now < until) {
+            return false;
+        }
+        long startedAt = probeStartedAt.get();
+        if (startedAt != 0 && now - startedAt < openDurationMillis) {
+            return false;
+        }
+        return probeStartedAt.compareAndSet(startedAt, now);
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (openUntil != 0) {
+            openUntil = 0;
+            log.info("[SearchCircuitBreaker] 검색 서킷 닫힘");
+        }
+        probeStartedAt.set(0);
+    }
+
+    public void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (probeStartedAt.get() != 0 || failures >= failureThreshold) {
+            openUntil = System.currentTimeMillis() + openDurationMillis;
+            probeStartedAt.set(0);
+            log.warn("[SearchCircuitBreaker] 검색 서킷 열림: 연속 실패={}, {}ms 동안 DB 검색으로 대체", failures, openDurationMillis);
+        }
+    }
+}
@@ -15,6 +15,7 @@ public enum ErrorCode {
     INVALID_SEARCH_VALUE(400, "검색 값이 비어있음"),
     INVALID_EMAIL_CODE(400, "인증 코드가 일치하지 않음"),
     INVALID_INQUIRY_TYPE(400, "잘못된 문의 타입"),
+    INVALID_CURSOR(400, "잘못된 커서 값"),
 
     UNAUTHORIZED(401, "로그인이 필요한 서비스"),
     FAIL_LOGIN(401, "아이디, 비밀번호 오류"),
@@ -47,6 +48,7 @@ public enum ErrorCode {
     ALREADY_SAVED_WISH(409, "이미 위시리스트에 등록된 상품"),
     ALREADY_SAVED_REQUEST(409, "이미 존재하는 요청 내역"),
     ALREADY_SAVED_REPLY(409, "이미 답변된 문의"),
+    REINDEX_IN_PROGRESS(409, "이미 진행 중인 재색인"),
 
     INTERNAL_SERVER_ERROR(500, "서버 내부 오류");
 
@@ -0,0 +1,130 @@
+package com.dmarket.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 로그아웃된 access 토큰 차단 목록 (jti 기준)
+ * - Redis: token:revoked:{jti}, ttl = 토큰의 남은 유효 시간 (만료되면 저절로 삭제)
+ * - 서버별 Bloom filter 에 폐기된 jti 를 모아 두고, filter 에 없는 토큰(대부분의 요청)은 Redis 조회 없이 통과
+ * - 폐기는 pub/sub 으로 모든 서버의 filter 에 반영, 시작 시와 주기적으로 Redis 목록으로 filter 를 다시 만듦 (만료된 jti 정리)
+ * - Redis 조회 실패 시 filter 에 걸린 토큰만 차단, 나머지는 통과시키고 jwt.denylist.fail-open 으로 집계
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccessTokenDenylist implements MessageListener {
+
+    public static final String CHANNEL = "token:revoked";
+    private static final String KEY_PREFIX = "token:revoked:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.denylist.expected-insertions:100000}")
+    private int expectedInsertions;
+    @Value("${jwt.denylist.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+    // 재구성 중인 filter (재구성 도중 들어온 폐기도 반영)
+    private volatile BloomFilter rebuilding;
+    // Redis 목록을 filter 에 채우지 못한 상태, 모든 토큰을 Redis 로 확인
+    private volatile boolean degraded = true;
+    private Counter failOpenCounter;
+
+    @PostConstruct
+    public void init() {
+        failOpenCounter = Counter.builder("jwt.denylist.fail-open")
+                .description("차단 목록을 확인하지 못해 통과시킨 요청 수")
+                .register(meterRegistry);
+        bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        rebuild();
+    }
+
+    // access 토큰 폐기 (이미 만료된 토큰은 무시)
+    public void revoke(String jti, Long expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return;
+        }
+        long ttlMillis = expiresAt - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+        redisTemplate.opsForValue().set(KEY_PREFIX + jti, "1", Duration.ofMillis(ttlMillis));
+        add(jti);
+        redisTemplate.convertAndSend(CHANNEL, jti);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        boolean mightBeRevoked = bloomFilter.mightContain(jti);
+        if (!degraded && !mightBeRevoked) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + jti));
+        } catch (RuntimeException e) {
+            // filter 에 걸린 토큰은 확인할 수 없으면 차단, filter 를 채우지 못한 상태에서 걸리지 않은 토큰은 통과
+            if (mightBeRevoked) {
+                log.warn("토큰 차단 목록 조회 실패, 차단: {}", e.getMessage());
+                return true;
+            }
+            failOpenCounter.increment();
+            log.warn("토큰 차단 목록 조회 실패, 통과: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // 다른 서버에서 폐기한 jti
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // Redis 목록으로 filter 재구성 (만료되어 삭제된 jti 는 빠짐)
+    @Scheduled(fixedDelayString = "${jwt.denylist.rebuild-interval-millis:600000}",
+            initialDelayString = "${jwt.denylist.rebuild-interval-millis:600000}")
+    public void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = rebuilt;
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(key -> rebuilt.put(key.substring(KEY_PREFIX.length())));
+            bloomFilter = rebuilt;
+            degraded = false;
+        } catch (RuntimeException e) {
+            log.warn("토큰 차단 목록 filter 재구성 실패: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void add(String jti) {
+        bloomFilter.put(jti);
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(jti);
+        }
+    }
+}
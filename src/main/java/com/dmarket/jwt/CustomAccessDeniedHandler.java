@@ -5,6 +5,7 @@ import com.dmarket.exception.ErrorCode;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.web.access.AccessDeniedHandler;
@@ -14,12 +15,15 @@ import java.io.IOException;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class CustomAccessDeniedHandler implements AccessDeniedHandler {
 
+    private final SecurityResponseWriter responseWriter;
+
     @Override
     public void handle(HttpServletRequest request, HttpServletResponse response, AccessDeniedException accessDeniedException) throws IOException, ServletException {
         log.info("CustomAccessDeniedHandler");
         CMResDto<String> resDto = CMResDto.errorWithMsgRes(ErrorCode.FORBIDDEN, ErrorCode.FORBIDDEN.getMsg());
-        JWTFilter.writeResponse(response, resDto);
+        responseWriter.write(response, resDto);
     }
 }
@@ -19,6 +19,7 @@ import java.io.IOException;
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
     private final JWTUtil jwtUtil;
+    private final SecurityResponseWriter responseWriter;
 
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) throws IOException, ServletException {
@@ -31,24 +32,24 @@ public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint
             String token = jwtUtil.getToken(authHeader);
             response.setHeader("token", token);
             CMResDto<String> resDto = CMResDto.errorWithMsgRes(ErrorCode.INVALID_TOKEN, authException.getLocalizedMessage());
-            JWTFilter.writeResponse(response, resDto);
+            responseWriter.write(response, resDto);
 
         } catch (IllegalArgumentException e) {
             log.warn(e.getMessage(), e.getCause());
             CMResDto<String> resDto = CMResDto.errorWithMsgRes(ErrorCode.INVALID_TOKEN, e.getMessage());
-            JWTFilter.writeResponse(response, resDto);
+            responseWriter.write(response, resDto);
 
         } catch (IndexOutOfBoundsException e) {
             //토큰으로 Bearer만 오면 터지는 예외
             String msg = ErrorCode.INVALID_TOKEN.getMsg();
             log.warn(msg, e.getCause());
             CMResDto<String> resDto = CMResDto.errorWithMsgRes(ErrorCode.INVALID_TOKEN, msg);
-            JWTFilter.writeResponse(response, resDto);
+            responseWriter.write(response, resDto);
 
         } catch (RuntimeException e) {
             log.warn(e.getMessage(), e.getCause());
             CMResDto<String> resDto = CMResDto.errorWithMsgRes(ErrorCode.INTERNAL_SERVER_ERROR, e.getMessage());
-            JWTFilter.writeResponse(response, resDto);
+            responseWriter.write(response, resDto);
         }
     }
 }
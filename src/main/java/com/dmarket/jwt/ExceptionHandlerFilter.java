@@ -19,6 +19,7 @@ import java.io.IOException;
 public class ExceptionHandlerFilter extends OncePerRequestFilter {
 
     private final JWTUtil jwtUtil;
+    private final SecurityResponseWriter responseWriter;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -37,18 +38,18 @@ public class ExceptionHandlerFilter extends OncePerRequestFilter {
             String msg = ErrorCode.EXPIRED_TOKEN.getMsg();
             log.warn(msg, e.getCause());
             CMResDto<String> resDto = CMResDto.errorWithMsgRes(ErrorCode.EXPIRED_TOKEN, msg);
-            JWTFilter.writeResponse(response, resDto);
+            responseWriter.write(response, resDto);
 
         } catch (JwtException | IllegalArgumentException e) {
             //유효하지 않은 토큰
             log.warn(e.getMessage(), e.getCause());
             CMResDto<String> resDto = CMResDto.errorWithMsgRes(ErrorCode.INVALID_TOKEN, e.getMessage());
-            JWTFilter.writeResponse(response, resDto);
+            responseWriter.write(response, resDto);
 
         } catch (RuntimeException e) {
             log.warn(e.getMessage(), e.getCause());
             CMResDto<String> resDto = CMResDto.errorWithMsgRes(ErrorCode.INTERNAL_SERVER_ERROR, e.getMessage());
-            JWTFilter.writeResponse(response, resDto);
+            responseWriter.write(response, resDto);
 
         }
     }
@@ -1,15 +1,9 @@
 package com.dmarket.jwt;
 
-import com.dmarket.domain.user.RefreshToken;
-import com.dmarket.domain.user.User;
 import com.dmarket.dto.common.UserCommonDto;
 import com.dmarket.dto.response.CMResDto;
 import com.dmarket.dto.response.UserResDto;
-import com.dmarket.repository.user.RefreshTokenRepository;
-import com.dmarket.repository.user.UserRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.dmarket.repository.user.RefreshTokenStore;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,7 +18,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -33,8 +26,10 @@ import java.util.Objects;
 public class JWTFilter extends OncePerRequestFilter {
 
     private final JWTUtil jwtUtil;
-    private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserSnapshotCache userSnapshotCache;
+    private final RefreshTokenStore refreshTokenStore;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final SecurityResponseWriter responseWriter;
 
     @Value("${spring.jwt.expireT}")
     private Long jwtExpiration;
@@ -62,13 +57,7 @@ public class JWTFilter extends OncePerRequestFilter {
             log.info("token={}", token);
         } catch (IllegalArgumentException e) {
             log.warn(e.getMessage(), e.getCause());
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            CMResDto<Void> cmRespDto = CMResDto.<Void>builder()
-                    .code(HttpServletResponse.SC_UNAUTHORIZED)  // 401 Unauthorized
-                    .msg("잘못된 토큰입니다.")
-                    .build();
-
-            writeResponse(response, cmRespDto);
+            responseWriter.writeUnauthorized(response, SecurityResponseWriter.Unauthorized.INVALID_TOKEN);
             //조건이 해당되면 메소드 종료 (필수)
             return;
         }
@@ -76,96 +65,71 @@ public class JWTFilter extends OncePerRequestFilter {
 //         헤더가 있기 때문에 헤더를 추출
 //        String token = authHeader.split(" ")[1];
 
-        // 헤더가 만료되었는 확인
+        // 토큰 검증 (서명, 만료 확인 후 claim 추출)
+        JwtClaims claims;
         try {
-            jwtUtil.isExpired(token);
+            claims = jwtUtil.parseClaims(token);
         } catch (ExpiredJwtException e) {
             log.info("token expired");
 
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            CMResDto<Void> cmRespDto = CMResDto.<Void>builder()
-                    .code(HttpServletResponse.SC_UNAUTHORIZED)  // 401 Unauthorized
-                    .msg("토큰이 만료되었습니다.")
-                    .build();
-
-            writeResponse(response, cmRespDto);
+            responseWriter.writeUnauthorized(response, SecurityResponseWriter.Unauthorized.EXPIRED_TOKEN);
+            return;
+        }
 
+        // 로그아웃된 토큰 차단
+        if (accessTokenDenylist.isRevoked(claims.getJti())) {
+            responseWriter.writeUnauthorized(response, SecurityResponseWriter.Unauthorized.REVOKED_TOKEN);
             return;
         }
 
         //토큰에서 정보 추출
-        String type = jwtUtil.getType(token);
+        String type = claims.getType();
         log.info("tokenType={}", type);
-        String email = jwtUtil.getEmail(token);
-        String role = jwtUtil.getRole(token);
-        Long tokenUserId = jwtUtil.getUserId(token);
+        String email = claims.getEmail();
+        Long tokenUserId = claims.getUserId();
 
+        // 사용자 상태 (권한 변경, 삭제가 반영된 캐시의 값 사용)
+        UserSnapshotCache.UserSnapshot snapshot = userSnapshotCache.get(tokenUserId);
+        if (snapshot == null) {
+            responseWriter.writeUnauthorized(response, SecurityResponseWriter.Unauthorized.USER_NOT_FOUND);
+            return;
+        }
 
-        // 타입이 refresh 인 경우 검증해서 재발급
+        // 타입이 refresh 인 경우 기존 토큰을 새 토큰으로 원자적으로 교체해 재발급
         if (Objects.equals(type, "RTK")) {
-            // refresh 토큰이 있으면
-            if (refreshTokenRepository.existsById(token)) {
-                refreshTokenRepository.deleteById(token);
-                String newAccessToken = jwtUtil.createAccessJwt(tokenUserId, email, role);
-                String newRefreshToken = jwtUtil.createRefreshJwt(tokenUserId);
-                refreshTokenRepository.save(new RefreshToken(newRefreshToken, newAccessToken, email));
-
-                UserCommonDto.TokenResponseDto tokenResponseDto = new UserCommonDto.TokenResponseDto(newAccessToken, newRefreshToken, tokenUserId, role);
-
-                CMResDto<UserCommonDto.TokenResponseDto> cmRespDto = CMResDto.<UserCommonDto.TokenResponseDto>builder()
-                        .code(200)
-                        .msg("새로운 토큰 발급 Success")
-                        .data(tokenResponseDto)
-                        .build();
-
-                writeResponse(response, cmRespDto);
+            String newAccessToken = jwtUtil.createAccessJwt(tokenUserId, snapshot.getEmail(), snapshot.getRole());
+            String newRefreshToken = jwtUtil.createRefreshJwt(tokenUserId);
+            RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(token, newRefreshToken, newAccessToken);
+
+            if (rotation == RefreshTokenStore.Rotation.REPLAYED) {
+                // 이미 교체된 토큰 재사용 (탈취 의심), 같은 로그인의 토큰까지 폐기됨
+                log.warn("refresh token reused: userId={}", tokenUserId);
+                responseWriter.writeUnauthorized(response, SecurityResponseWriter.Unauthorized.REFRESH_TOKEN_REUSED);
                 return;
-            } else {
+            }
+            if (rotation == RefreshTokenStore.Rotation.NOT_FOUND) {
                 // refresh 토큰이 없다면 다시 로그인 유도
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                CMResDto<Void> cmRespDto = CMResDto.<Void>builder()
-                        .code(HttpServletResponse.SC_UNAUTHORIZED) // 401 Unauthorized
-                        .msg("Refresh토큰이 없습니다. 다시 로그인 해주세요.")
-                        .build();
-
-                writeResponse(response, cmRespDto);
+                responseWriter.writeUnauthorized(response, SecurityResponseWriter.Unauthorized.REFRESH_TOKEN_NOT_FOUND);
                 return;
             }
+
+            UserCommonDto.TokenResponseDto tokenResponseDto = new UserCommonDto.TokenResponseDto(newAccessToken, newRefreshToken, tokenUserId, snapshot.getRole());
+
+            CMResDto<UserCommonDto.TokenResponseDto> cmRespDto = CMResDto.<UserCommonDto.TokenResponseDto>builder()
+                    .code(200)
+                    .msg("새로운 토큰 발급 Success")
+                    .data(tokenResponseDto)
+                    .build();
+
+            responseWriter.write(response, cmRespDto);
+            return;
         }
 
-        User userEntity = userRepository.findByUserId(tokenUserId);
-        UserResDto.CustomUserDetails customUserDetails = new UserResDto.CustomUserDetails(userEntity);
+        UserResDto.CustomUserDetails customUserDetails = new UserResDto.CustomUserDetails(tokenUserId, email, snapshot.getRole());
         Authentication authToken = new UsernamePasswordAuthenticationToken(customUserDetails, null, customUserDetails.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authToken);
-        log.info("userId={}", userEntity.getUserId());
+        log.info("userId={}", tokenUserId);
         filterChain.doFilter(request, response);
     }
 
-
-    // JSON 응답을 생성하는 메소드
-    protected static void writeResponse(HttpServletResponse response, CMResDto<?> cmRespDto) {
-        try {
-            // cmRespDto 객체로 변환해서 타입 반환.
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            // cmRespDto 내부에 LocalDatetime 형식 변환 설정.
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            objectMapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSSSS"));
-
-            // response body에 담기.
-            String jsonResponse = objectMapper.writeValueAsString(cmRespDto);
-
-            // response 타입지정.
-            response.setContentType("application/json");
-            response.setCharacterEncoding("UTF-8");
-
-            // response 반환.
-            response.getWriter().write(jsonResponse);
-
-        } catch (IOException e) {
-            // 에러 핸들링
-            log.warn(e.getMessage(), e.getCause());
-        }
-    }
 }
@@ -1,5 +1,8 @@
 package com.dmarket.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,35 +11,84 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
+/**
+ * JWT 발급, 검증
+ * - 서명 검증은 미리 만들어 둔 JwtParser 하나로 처리하고, 토큰당 한 번만 검증해 JwtClaims 로 반환
+ * - 검증한 토큰은 토큰 해시를 키로 짧게 캐시 (jwt.verified-cache.*, 크기 0 이면 캐시 없음)
+ */
 @Component
 public class JWTUtil {
 
-    private SecretKey secretKey;
+    private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, JwtClaims> verifiedTokens;
 
-    public JWTUtil(@Value("${spring.jwt.secret}") String secret) {
+    public JWTUtil(@Value("${spring.jwt.secret}") String secret,
+                   @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize,
+                   @Value("${jwt.verified-cache.ttl-millis:30000}") long verifiedCacheTtlMillis) {
         this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedTokens = verifiedCacheMaxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(verifiedCacheTtlMillis))
+                .build();
+    }
+
+    // 토큰 검증 후 claim 반환 (만료: ExpiredJwtException, 위조: JwtException)
+    public JwtClaims parseClaims(String token) {
+        if (verifiedTokens == null) {
+            return verify(token);
+        }
+        String key = hash(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        // 캐시된 토큰이 만료되었으면 다시 검증해 ExpiredJwtException 발생
+        JwtClaims claims = verify(token);
+        verifiedTokens.put(key, claims);
+        return claims;
+    }
+
+    private JwtClaims verify(String token) {
+        return new JwtClaims(jwtParser.parseSignedClaims(token).getPayload());
+    }
+
+    // 토큰 해시 (캐시, 저장소 키)
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public Long getUserId(String token){
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("userId", Long.class);
+        return parseClaims(token).getUserId();
     }
 
     public String getUsername(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("username", String.class);
+        return jwtParser.parseSignedClaims(token).getPayload().get("username", String.class);
     }
 
     public String getRole(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("role", String.class);
+        return parseClaims(token).getRole();
     }
 
     public String getEmail(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("email", String.class);
+        return parseClaims(token).getEmail();
     }
 
     public String getType(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("type", String.class);
+        return parseClaims(token).getType();
     }
 
     public String getAuthHeader(HttpServletRequest request) {
@@ -53,7 +105,7 @@ public class JWTUtil {
     }
 
     public void isExpired(String token) {
-        Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().getExpiration();
+        parseClaims(token);
     }
 
     public String createAccessJwt(Long userId, String email, String role) {
@@ -62,6 +114,7 @@ public class JWTUtil {
                 .claim("role", role)
                 .claim("email", email)
                 .claim("type", "ATK")
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 30 * 24 * 60 * 60 * 1000L))
                 .signWith(secretKey)
@@ -72,6 +125,7 @@ public class JWTUtil {
         return Jwts.builder()
                 .claim("userId", userId)
                 .claim("type", "RTK")
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 240 * 60 * 60 * 1000))
                 .signWith(secretKey)
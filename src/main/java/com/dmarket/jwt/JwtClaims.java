@@ -0,0 +1,29 @@
+package com.dmarket.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+// 서명 검증을 마친 토큰의 claim (JWTUtil.parseClaims 로만 생성)
+@Getter
+public class JwtClaims {
+
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final String type;
+    private final String jti; // 토큰 id (로그아웃 시 차단 목록 키)
+    private final Long expiresAt; // 만료 시각 (epoch millis)
+
+    JwtClaims(Claims claims) {
+        this.userId = claims.get("userId", Long.class);
+        this.email = claims.get("email", String.class);
+        this.role = claims.get("role", String.class);
+        this.type = claims.get("type", String.class);
+        this.jti = claims.getId();
+        this.expiresAt = claims.getExpiration() == null ? null : claims.getExpiration().getTime();
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt <= System.currentTimeMillis();
+    }
+}
@@ -1,13 +1,9 @@
 package com.dmarket.jwt;
 
-import com.dmarket.domain.user.RefreshToken;
 import com.dmarket.dto.common.UserCommonDto;
 import com.dmarket.dto.response.CMResDto;
 import com.dmarket.dto.response.UserResDto;
-import com.dmarket.repository.user.RefreshTokenRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.dmarket.repository.user.RefreshTokenStore;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -20,7 +16,6 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Iterator;
 
@@ -31,13 +26,16 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
 
     private final AuthenticationManager authenticationManager;
     private final JWTUtil jwtUtil;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final SecurityResponseWriter responseWriter;
 
 
-    public LoginFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil, RefreshTokenRepository refreshTokenRepository) {
+    public LoginFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil, RefreshTokenStore refreshTokenStore,
+                       SecurityResponseWriter responseWriter) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
-        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenStore = refreshTokenStore;
+        this.responseWriter = responseWriter;
 
         // login 경로 변경
         setFilterProcessesUrl("/api/users/login");
@@ -78,7 +76,7 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
         // RefreshToken 만료 시간 240시간
         String refreshtoken = jwtUtil.createRefreshJwt(userId);
 
-        refreshTokenRepository.save(new RefreshToken(refreshtoken, accesstoken, email));
+        refreshTokenStore.save(refreshtoken, accesstoken);
 
         UserCommonDto.TokenResponseDto tokenResponseDto = new UserCommonDto.TokenResponseDto(accesstoken, refreshtoken, userId, role);
 
@@ -89,46 +87,12 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
                 .build();
 
         // HttpServletRequest 에 body에 정보를 담기.
-        writeResponse(response, cmRespDto);
+        responseWriter.write(response, cmRespDto);
     }
 
     // 요청받은 정보가 DB에 없는 사용자인 경우
     @Override
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response, AuthenticationException failed) {
-        CMResDto<Void> cmRespDto = CMResDto.<Void>builder()
-                .code(HttpServletResponse.SC_UNAUTHORIZED) // 401 Unauthorized
-                .msg("아이디 또는 비밀번호가 틀렸습니다.")
-                .build();
-
-        writeResponse(response, cmRespDto);
-        response.setStatus(401);
+        responseWriter.writeUnauthorized(response, SecurityResponseWriter.Unauthorized.LOGIN_FAILED);
     }
-
-
-    private void writeResponse(HttpServletResponse response, CMResDto<?> cmRespDto) {
-        try {
-            // cmRespDto 객체로 변환해서 타입 반환.
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            // cmRespDto 내부에 LocalDatetime 형식 변환 설정.
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            objectMapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSSSS"));
-
-            // response body에 담기.
-            String jsonResponse = objectMapper.writeValueAsString(cmRespDto);
-
-            // response 타입지정.
-            response.setContentType("application/json");
-            response.setCharacterEncoding("UTF-8");
-
-            // response 반환.
-            response.getWriter().write(jsonResponse);
-
-        } catch (IOException e) {
-            // 에러 핸들링
-            log.warn(e.getMessage(), e.getCause());
-        }
-    }
-
 }
@@ -0,0 +1,91 @@
+package com.dmarket.jwt;
+
+import com.dmarket.dto.response.CMResDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 보안 필터, 핸들러의 JSON 응답 작성
+ * - Spring 이 관리하는 ObjectMapper 재사용
+ * - 고정된 401 응답은 time 앞뒤 부분을 미리 byte 로 만들어 두고 time 만 채워 바로 출력
+ */
+@Slf4j
+@Component
+public class SecurityResponseWriter {
+
+    // 고정 401 응답 메시지
+    @Getter
+    @RequiredArgsConstructor
+    public enum Unauthorized {
+        INVALID_TOKEN("잘못된 토큰입니다."),
+        EXPIRED_TOKEN("토큰이 만료되었습니다."),
+        REVOKED_TOKEN("로그아웃된 토큰입니다."),
+        REFRESH_TOKEN_NOT_FOUND("Refresh토큰이 없습니다. 다시 로그인 해주세요."),
+        REFRESH_TOKEN_REUSED("이미 사용된 Refresh토큰입니다. 다시 로그인 해주세요."),
+        USER_NOT_FOUND("존재하지 않는 사용자입니다."),
+        LOGIN_FAILED("아이디 또는 비밀번호가 틀렸습니다.");
+
+        private final String msg;
+    }
+
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8";
+
+    // CMResDto 의 필드 순서(code, time, msg)와 LocalDateTime 기본 직렬화 형식(ISO)을 따름
+    private static final byte[] UNAUTHORIZED_PREFIX =
+            ("{\"code\":" + HttpServletResponse.SC_UNAUTHORIZED + ",\"time\":\"").getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final Map<Unauthorized, byte[]> unauthorizedSuffixes = new EnumMap<>(Unauthorized.class);
+
+    public SecurityResponseWriter(ObjectMapper objectMapper) throws JsonProcessingException {
+        this.objectMapper = objectMapper;
+        for (Unauthorized unauthorized : Unauthorized.values()) {
+            String suffix = "\",\"msg\":" + objectMapper.writeValueAsString(unauthorized.getMsg()) + "}";
+            unauthorizedSuffixes.put(unauthorized, suffix.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public void write(HttpServletResponse response, CMResDto<?> cmRespDto) {
+        try {
+            response.setContentType(CONTENT_TYPE);
+            objectMapper.writeValue(response.getOutputStream(), cmRespDto);
+        } catch (IOException e) {
+            log.warn(e.getMessage(), e.getCause());
+        }
+    }
+
+    // 401 상태와 미리 만들어 둔 응답 출력
+    public void writeUnauthorized(HttpServletResponse response, Unauthorized unauthorized) {
+        try {
+            byte[] time = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)
+                    .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                    .getBytes(StandardCharsets.US_ASCII);
+            byte[] suffix = unauthorizedSuffixes.get(unauthorized);
+
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType(CONTENT_TYPE);
+            response.setContentLength(UNAUTHORIZED_PREFIX.length + time.length + suffix.length);
+            OutputStream out = response.getOutputStream();
+            out.write(UNAUTHORIZED_PREFIX);
+            out.write(time);
+            out.write(suffix);
+        } catch (IOException e) {
+            log.warn(e.getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.dmarket.jwt;
+
+import com.dmarket.domain.user.User;
+import com.dmarket.repository.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 인증된 요청에서 확인하는 사용자 상태 캐시 (서버별 Caffeine, 크기 제한)
+ * - 캐시에 없을 때만 DB 조회, 삭제된 사용자도 "없음"으로 캐시해 반복 조회하지 않음
+ * - 권한 변경, 사용자 삭제 시 커밋 후 무효화, pub/sub 으로 모든 서버에 전파 (전파 실패 시 다른 서버는 ttl 안에 반영)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSnapshotCache implements MessageListener {
+
+    public static final String CHANNEL = "user:snapshot:invalidate";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${jwt.user-cache.max-size:10000}")
+    private long maxSize;
+    @Value("${jwt.user-cache.ttl-millis:60000}")
+    private long ttlMillis;
+
+    // 삭제된(존재하지 않는) 사용자
+    private static final UserSnapshot DELETED = new UserSnapshot(null, null, null);
+
+    private Cache<Long, UserSnapshot> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // 사용자 상태 조회, 존재하지 않는 사용자면 null
+    public UserSnapshot get(Long userId) {
+        UserSnapshot snapshot = cache.get(userId, id -> {
+            User user = userRepository.findByUserId(id);
+            return user == null ? DELETED : new UserSnapshot(user.getUserId(), user.getUserEmail(), String.valueOf(user.getUserRole()));
+        });
+        return snapshot == DELETED ? null : snapshot;
+    }
+
+    // 사용자 상태 무효화 (트랜잭션 커밋 후 반영)
+    public void invalidate(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAll(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateAll(userId);
+            }
+        });
+    }
+
+    // 다른 서버에서 무효화한 사용자
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            cache.invalidate(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("사용자 캐시 무효화 메시지 형식 오류: {}", e.getMessage());
+        }
+    }
+
+    private void invalidateAll(Long userId) {
+        cache.invalidate(userId);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.valueOf(userId));
+        } catch (RuntimeException e) {
+            log.warn("사용자 캐시 무효화 전파 실패 (다른 서버는 ttl 안에 반영): {}", e.getMessage());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class UserSnapshot {
+        private Long userId;
+        private String email;
+        private String role;
+    }
+}
@@ -7,8 +7,12 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_notification_receiver_date", columnList = "receiver, notification_created_date, noti_id"),
+        @Index(name = "idx_notification_read_date", columnList = "is_read, notification_created_date, noti_id")
+})
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Notification {
@@ -19,6 +23,8 @@ public class Notification {
 
     private Long receiver; //알림을 받는 유저의 정보
 
+    private String eventName; //SSE 이벤트 이름 (재연결 시 재전송에 사용)
+
     private String content; //알람의 내용
 
     private String url; //해당 알림 클릭시 이동할 mapping url
@@ -30,6 +36,7 @@ public class Notification {
     public static Notification create(SendNotificationEvent sendNotificationEvent) {
         return Notification.builder()
                 .receiver(sendNotificationEvent.getReceiver())
+                .eventName(sendNotificationEvent.getName())
                 .content(sendNotificationEvent.getContent())
                 .url(sendNotificationEvent.getUrl())
                 .isRead(false)
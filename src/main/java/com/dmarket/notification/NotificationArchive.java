@@ -0,0 +1,38 @@
+package com.dmarket.notification;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 보관 기간이 지난 읽은 알림 (NotificationRetentionJob 이 notification 에서 옮김)
+@Entity
+@Table(name = "notification_archive", indexes = {
+        @Index(name = "idx_notification_archive_receiver_date", columnList = "receiver, notification_created_date")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationArchive {
+
+    @Id
+    private Long notiId; //원래 알림 번호
+
+    private Long receiver;
+
+    private String eventName;
+
+    private String content;
+
+    private String url;
+
+    private Boolean isRead;
+
+    private LocalDateTime notificationCreatedDate;
+
+    private LocalDateTime archivedDate;
+}
@@ -0,0 +1,146 @@
+package com.dmarket.notification;
+
+import com.dmarket.config.DownstreamLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 서버 간 SSE 알림 전달 (Redis pub/sub)
+ * - 알림은 모든 서버에 발행하고, 각 서버는 SseEmitters 에 연결이 있는 사용자에게만 전송
+ * - 발행은 큐에 모았다가 flush 주기마다 여러 건을 메시지 하나로 묶어 보냄
+ */
+@Slf4j
+@Component
+public class NotificationBroadcaster implements MessageListener {
+
+    public static final String CHANNEL = "notification:deliver";
+    private static final TypeReference<List<NotificationMessage>> BATCH_TYPE = new TypeReference<>() {};
+
+    private final SseEmitters sseEmitters;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final DownstreamLimiter downstreamLimiter;
+    private final Counter publishedCounter;
+    private final Counter deliveredCounter;
+
+    @Value("${notification.fanout.batch-size:200}")
+    private int batchSize;
+
+    private final ConcurrentLinkedQueue<NotificationMessage> pending = new ConcurrentLinkedQueue<>();
+
+    public NotificationBroadcaster(SseEmitters sseEmitters, RedisTemplate<String, Object> redisTemplate,
+                                   RedisMessageListenerContainer redisMessageListenerContainer,
+                                   ObjectMapper objectMapper, DownstreamLimiter downstreamLimiter,
+                                   MeterRegistry meterRegistry) {
+        this.sseEmitters = sseEmitters;
+        this.redisTemplate = redisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.objectMapper = objectMapper;
+        this.downstreamLimiter = downstreamLimiter;
+        this.publishedCounter = Counter.builder("sse.fanout.published")
+                .description("Redis 로 발행한 알림 수")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("sse.fanout.delivered")
+                .description("이 서버의 연결로 전송한 알림 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // 알림 발행 예약 (트랜잭션 안이면 커밋 후)
+    public void publish(NotificationMessage message) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.add(message);
+            }
+        });
+    }
+
+    // 모인 알림을 batch-size 단위로 묶어 발행
+    @Scheduled(fixedDelayString = "${notification.fanout.flush-interval-millis:50}")
+    @PreDestroy
+    public void flush() {
+        while (!pending.isEmpty()) {
+            List<NotificationMessage> batch = new ArrayList<>(batchSize);
+            NotificationMessage message;
+            while (batch.size() < batchSize && (message = pending.poll()) != null) {
+                batch.add(message);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(batch));
+                publishedCounter.increment(batch.size());
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("알림 발행 실패 ({}건): {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<NotificationMessage> batch;
+        try {
+            batch = objectMapper.readValue(message.getBody(), BATCH_TYPE);
+        } catch (IOException e) {
+            log.warn("알림 메시지 변환 실패: {}", e.getMessage());
+            return;
+        }
+        for (NotificationMessage notificationMessage : batch) {
+            try {
+                downstreamLimiter.run(DownstreamLimiter.Downstream.SSE, () -> deliverLocally(notificationMessage));
+            } catch (IllegalStateException e) {
+                log.warn("알림 전송 생략 (receiver={}): {}", notificationMessage.getReceiver(), e.getMessage());
+            }
+        }
+    }
+
+    // 이 서버에 연결된 수신자의 emitter 로 전송
+    private void deliverLocally(NotificationMessage message) {
+        Map<String, SseEmitter> emitters = sseEmitters.findEmitters(message.getReceiver());
+        emitters.forEach((key, emitter) -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(message.getEventId())
+                        .name(message.getName())
+                        .data(message.getNotification()));
+                deliveredCounter.increment();
+            } catch (IOException | IllegalStateException e) {
+                sseEmitters.delete(message.getReceiver(), key);
+            }
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.dmarket.notification;
 
 import com.dmarket.dto.response.CMResDto;
+import com.dmarket.dto.response.CursorResDto;
 import com.dmarket.exception.ErrorCode;
 import com.dmarket.jwt.JWTUtil;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,10 +29,9 @@ public class NotificationController {
     // sse 연결
     @GetMapping(value = "/subscribe/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public ResponseEntity<SseEmitter> subscribe(@PathVariable Long userId,
-                                                @RequestHeader(value = "lastEventId", required = false, defaultValue = "") String lastEventId,
+                                                @RequestHeader(value = "Last-Event-ID", required = false, defaultValue = "") String lastEventId,
                                                 HttpServletResponse response){
-        log.info(lastEventId);
-        return new ResponseEntity<>(notificationService.subscribe(userId, response), HttpStatus.OK);
+        return new ResponseEntity<>(notificationService.subscribe(userId, lastEventId, response), HttpStatus.OK);
     }
 
     // 유저 별 알림 조회
@@ -41,6 +41,20 @@ public class NotificationController {
         return new ResponseEntity<> (notifications, HttpStatus.OK);
     }
 
+    // 유저 별 알림 커서 조회
+    @GetMapping("/{userId}/cursor")
+    public ResponseEntity<?> getUserNotificationsByCursor(HttpServletRequest request,
+                                                          @PathVariable Long userId,
+                                                          @RequestParam(required = false, value = "cursor") String cursor,
+                                                          @RequestParam(required = false, value = "total", defaultValue = "false") boolean withTotal) {
+        ResponseEntity<?> authorization = checkAuthorization(userId, request);
+        if(authorization != null){
+            return authorization;
+        }
+        CursorResDto<Notification> res = notificationService.getUserNotificationsByCursor(userId, cursor, withTotal);
+        return new ResponseEntity<>(CMResDto.successDataRes(res), HttpStatus.OK);
+    }
+
     // 알림 읽음 처리
     @PutMapping()
     public ResponseEntity<?> readNotification(HttpServletRequest request,
@@ -2,7 +2,6 @@ package com.dmarket.notification;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionalEventListener;
 
@@ -11,7 +10,8 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @RequiredArgsConstructor
 public class NotificationEventHandler {
     private final NotificationService notificationService;
-    @Async
+
+    // 커밋 후 저장 큐에 넣기만 함 (저장, 전달은 NotificationWriter)
     @TransactionalEventListener
     public void sendNotification(SendNotificationEvent notification){
         notificationService.send(notification);
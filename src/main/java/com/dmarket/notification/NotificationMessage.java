@@ -0,0 +1,20 @@
+package com.dmarket.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 서버 간 전달하는 SSE 알림 (Redis pub/sub)
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationMessage {
+
+    private String name;    //이벤트 이름
+
+    private String eventId;  //알림 번호
+
+    private Long receiver;  //알림을 받는 유저의 정보
+
+    private Notification notification; //저장된 알림
+}
@@ -1,16 +1,50 @@
 package com.dmarket.notification;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    // 유저 별 알림 조회
-    List<Notification> findByReceiverOrderByNotificationCreatedDateDesc(Long receiver);
+    // 유저 별 알림 조회 (최근 알림부터 pageable 크기만큼)
+    List<Notification> findByReceiverOrderByNotificationCreatedDateDescNotiIdDesc(Long receiver, Pageable pageable);
+
+    // 유저 별 알림 커서 조회 (마지막 행의 (생성일, id) 이후부터)
+    @Query("select n from Notification n " +
+            "where n.receiver = :receiver " +
+            "and (n.notificationCreatedDate < :createdDate or (n.notificationCreatedDate = :createdDate and n.notiId < :lastId)) " +
+            "order by n.notificationCreatedDate desc, n.notiId desc")
+    List<Notification> findByReceiverAfter(@Param("receiver") Long receiver, @Param("createdDate") LocalDateTime createdDate,
+                                           @Param("lastId") Long lastId, Pageable pageable);
+
+    long countByReceiver(Long receiver);
+
+    // 보관 기간이 지난 읽은 알림 (오래된 순)
+    @Query("select n.notiId from Notification n " +
+            "where n.isRead = true and n.notificationCreatedDate < :cutoff " +
+            "order by n.notificationCreatedDate, n.notiId")
+    List<Long> findReadIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // 알림을 보관 테이블로 복사
+    @Modifying
+    @Query(value = "insert into notification_archive " +
+            "(noti_id, receiver, event_name, content, url, is_read, notification_created_date, archived_date) " +
+            "select noti_id, receiver, event_name, content, url, is_read, notification_created_date, :archivedDate " +
+            "from notification where noti_id in (:ids)", nativeQuery = true)
+    int copyToArchive(@Param("ids") List<Long> ids, @Param("archivedDate") LocalDateTime archivedDate);
+
+    @Modifying
+    @Query("delete from Notification n where n.notiId in :ids")
+    int deleteByNotiIds(@Param("ids") List<Long> ids);
+
+    // 재연결 시 놓친 알림 (마지막으로 받은 알림 이후)
+    List<Notification> findByReceiverAndNotiIdGreaterThanOrderByNotiIdAsc(Long receiver, Long notiId, Pageable pageable);
 
     // 특정 유저 알림 전체 읽음 처리
     @Modifying
@@ -19,6 +53,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     Long countByReceiverAndIsRead(Long userId, boolean isRead);
 
+    // 사용자별 안읽은 알림 수 (receiver, count), 안읽은 알림이 없는 사용자는 결과에 없음
+    @Query("select n.receiver, count(n) from Notification n where n.receiver in :receivers and n.isRead = false group by n.receiver")
+    List<Object[]> countUnreadByReceivers(@Param("receivers") List<Long> receivers);
+
     // 특정 유저 알림 전체 삭제
     @Modifying
     void deleteAllByReceiver(Long userId);
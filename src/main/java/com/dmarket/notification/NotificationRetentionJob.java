@@ -0,0 +1,97 @@
+package com.dmarket.notification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 읽은 알림 보관 처리
+ * - retention-days 가 지난 읽은 알림을 chunk-size 건씩 notification_archive 로 옮김 (chunk 마다 커밋)
+ * - chunk 사이에 pause-millis 만큼 쉬어 운영 트래픽과 DB 를 나눠 씀, 한 번에 max-chunks 까지만 처리
+ * - Redis 락으로 한 서버에서만 실행, 스케줄러 스레드를 붙잡지 않도록 전용 스레드에서 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationRetentionJob {
+
+    private static final String LOCK_KEY = "notification:retention:lock";
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${notification.retention.days:90}")
+    private int retentionDays;
+    @Value("${notification.retention.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${notification.retention.pause-millis:200}")
+    private long pauseMillis;
+    @Value("${notification.retention.max-chunks:1000}")
+    private int maxChunks;
+    @Value("${notification.retention.lock-ttl-millis:3600000}")
+    private long lockTtlMillis;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "notification-retention"));
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * ?}", zone = "Asia/Seoul")
+    public void archive() {
+        executor.execute(this::archiveAll);
+    }
+
+    // 종료 시 chunk 사이 대기를 깨워 멈춤 (처리 중인 chunk 는 커밋 또는 롤백되고 락은 해제)
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void archiveAll() {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", Duration.ofMillis(lockTtlMillis));
+        if (!Boolean.TRUE.equals(acquired)) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            long start = System.currentTimeMillis();
+            int archived = 0;
+            for (int chunk = 0; chunk < maxChunks; chunk++) {
+                Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+                if (moved == null || moved == 0) {
+                    break;
+                }
+                archived += moved;
+                if (moved < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+            log.info("알림 보관 {}건 ({}ms)", archived, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            redisTemplate.delete(LOCK_KEY);
+        }
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Long> ids = notificationRepository.findReadIdsBefore(cutoff, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        notificationRepository.copyToArchive(ids, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        return notificationRepository.deleteByNotiIds(ids);
+    }
+}
@@ -1,8 +1,13 @@
 package com.dmarket.notification;
 
+import com.dmarket.dto.common.CursorDto;
+import com.dmarket.dto.response.CursorResDto;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -18,88 +23,126 @@ import java.util.Map;
 public class NotificationService {
     private final SseEmitters sseEmitters;
     private final NotificationRepository notificationRepository;
-    // timeout 시간 설정
-    private static final long TIMEOUT = 60 * 1000L;
+    private final NotificationWriter notificationWriter;
+    private final NotificationUnreadCounter notificationUnreadCounter;
 
-    public SseEmitter subscribe(Long userId, HttpServletResponse response) {
+    // 연결 유지 시간 (heartbeat 로 프록시 idle timeout 을 넘겨 유지)
+    @Value("${notification.sse.timeout-millis:1800000}")
+    private long timeoutMillis;
+    // 재연결 시 한 번에 재전송할 최대 알림 수
+    @Value("${notification.sse.replay-limit:100}")
+    private int replayLimit;
+
+    // 커서 조회 없이 한 번에 내려주는 최대 알림 수
+    @Value("${notification.inbox.limit:100}")
+    private int inboxLimit;
+
+    private static final String DEFAULT_EVENT_NAME = "notification";
+    private static final int PAGE_SIZE = 20;
+
+    public SseEmitter subscribe(Long userId, String lastEventId, HttpServletResponse response) {
         // 기존의 연결 종료
-        String existingId = userId + "_";
-        Map<String, SseEmitter> existingEmitters = sseEmitters.findEmitter(existingId);
+        Map<String, SseEmitter> existingEmitters = sseEmitters.findEmitters(userId);
         existingEmitters.forEach((key, emitter) -> {
             emitter.complete();
-            sseEmitters.delete(key);
+            sseEmitters.delete(userId, key);
         });
 
         // 새 연결 생성
-        SseEmitter emitter = new SseEmitter(TIMEOUT);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
         String id = userId + "_" + System.currentTimeMillis();
-        sseEmitters.add(id, emitter);
+        sseEmitters.add(userId, id, emitter);
 
         // NGINX PROXY 에서의 필요 설정 불필요한 버퍼링방지
         response.setHeader("X-Accel-Buffering", "no");
 
+        // 연결 확인 이벤트는 id 없이 보내 클라이언트의 Last-Event-ID 를 유지
         Map<String, Object> testContent = new HashMap<>();
         testContent.put("content", "connected!");
-        sendToClient(emitter, "test", id, testContent);
+        sendToClient(emitter, userId, id, SseEmitter.event().name("test").data(testContent));
+
+        // 연결이 끊긴 동안 놓친 알림 재전송 (등록 후 조회하므로 유실 없이 중복만 가능)
+        replay(emitter, userId, id, lastEventId);
 
         // 타임아웃 시 emitter 만료
         emitter.onTimeout(() -> {
             log.info("onTimeout callback");
             emitter.complete();
-            sseEmitters.delete(id);
+            sseEmitters.delete(userId, id);
         });
 
         // broken pipeline
         emitter.onError(throwable -> {
             log.error("[sse] SseEmitters 파일 add 메서드 : {}", throwable.getMessage());
             emitter.complete();
-            sseEmitters.delete(id);
+            sseEmitters.delete(userId, id);
         });
 
         emitter.onCompletion(() -> {
             log.info("onCompletion callback");
-            sseEmitters.delete(id);
+            sseEmitters.delete(userId, id);
         });
 
         return emitter;
     }
 
 
-    private void sendToClient(SseEmitter emitter, String name, String id, Object data) {
+    private void replay(SseEmitter emitter, Long userId, String emitterId, String lastEventId) {
+        long lastNotiId;
         try {
-            emitter.send(SseEmitter.event()
-                    .id(id)
+            lastNotiId = Long.parseLong(lastEventId);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        List<Notification> missed = notificationRepository.findByReceiverAndNotiIdGreaterThanOrderByNotiIdAsc(
+                userId, lastNotiId, PageRequest.of(0, replayLimit));
+        for (Notification notification : missed) {
+            String name = notification.getEventName() == null ? DEFAULT_EVENT_NAME : notification.getEventName();
+            sendToClient(emitter, userId, emitterId, SseEmitter.event()
+                    .id(String.valueOf(notification.getNotiId()))
                     .name(name)
-                    .data(data));
+                    .data(notification));
+        }
+    }
+
+    // 연결 유지용 주석 이벤트, 끊긴 연결 정리
+    @Scheduled(fixedDelayString = "${notification.sse.heartbeat-millis:15000}")
+    public void heartbeat() {
+        sseEmitters.forEach((userId, userEmitters) -> userEmitters.forEach((id, emitter) -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                sseEmitters.delete(userId, id);
+            }
+        }));
+    }
+
+    private void sendToClient(SseEmitter emitter, Long userId, String emitterId, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
         } catch (IOException exception) {
-            sseEmitters.delete(id);
+            sseEmitters.delete(userId, emitterId);
             throw new RuntimeException("연결 오류!");
         }
     }
 
-    @Transactional
+    // 알림 저장 예약 (NotificationWriter 가 모아서 저장한 뒤 SSE 전달)
     public void send(SendNotificationEvent noti) {
-        Notification notification = notificationRepository.save(Notification.create(noti));
-        log.info("저장됨");
-
-        String receiverId = noti.getReceiver() + "_";
-        log.info(receiverId);
-
-        // 해당 회원의 emitter 모두 찾아서 이벤트 전송
-        Map<String, SseEmitter> emitters = sseEmitters.findEmitter(receiverId);
-        log.info(emitters.entrySet().toString());
-
-        emitters.forEach(
-            (key, emitter) -> {
-                sendToClient(emitter, noti.getName(), noti.getEventId(), notification);
-                log.info("알림 전송 완료");
-            }
-        );
+        notificationWriter.enqueue(noti);
     }
 
-    // 유저 별 알림 조회
+    // 유저 별 알림 조회 (최근 inbox-limit 건)
     public List<Notification> getUserNotifications(Long userId) {
-        return notificationRepository.findByReceiverOrderByNotificationCreatedDateDesc(userId);
+        return notificationRepository.findByReceiverOrderByNotificationCreatedDateDescNotiIdDesc(userId, PageRequest.of(0, inboxLimit));
+    }
+
+    // 유저 별 알림 커서 조회 (생성일 + notiId 기준)
+    public CursorResDto<Notification> getUserNotificationsByCursor(Long userId, String cursor, boolean withTotal) {
+        CursorDto last = CursorDto.decode(cursor);
+        List<Notification> rows = notificationRepository.findByReceiverAfter(userId, last.dateKey(), last.getId(),
+                PageRequest.of(0, PAGE_SIZE + 1));
+        Long totalCount = withTotal ? notificationRepository.countByReceiver(userId) : null;
+        return CursorResDto.of(rows, PAGE_SIZE, n -> CursorDto.of(n.getNotificationCreatedDate(), n.getNotiId()), totalCount);
     }
 
     // 알림 읽음 처리
@@ -107,22 +150,28 @@ public class NotificationService {
     public void readNotification(NotificationReqDto notificationReqDto) {
         Notification notification = notificationRepository.findById(notificationReqDto.getNotiId())
                 .orElseThrow(()->new IllegalArgumentException("존재하지 않는 알림"));
-        notification.setIsRead();
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            notification.setIsRead();
+            notificationUnreadCounter.decrementAfterCommit(notification.getReceiver());
+        }
     }
 
     // 알림 전체 읽음
     @Transactional
     public void readAllNotifications(Long userId) {
         notificationRepository.readAllNotification(userId);
+        notificationUnreadCounter.resetAfterCommit(userId);
     }
 
+    // 안읽은 알림 수 (Redis, 없을 때만 DB)
     public Long getUnreadCount(Long userId) {
-        return notificationRepository.countByReceiverAndIsRead(userId, false);
+        return notificationUnreadCounter.get(userId);
     }
 
     // 알림 전체 삭제
     @Transactional
     public void deleteAllNotifications(Long userId) {
         notificationRepository.deleteAllByReceiver(userId);
+        notificationUnreadCounter.resetAfterCommit(userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.dmarket.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 안읽은 알림 수 (Redis, notification:unread:{userId})
+ * - 키가 없을 때만 DB 에서 세어 채우고, 이후 저장/읽음/삭제 시 증감 (키가 있을 때만 증감해 DB 와 어긋나지 않게)
+ * - reconciler 가 주기적으로 DB 값으로 덮어써 어긋난 값 복구 (한 서버에서만 실행)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationUnreadCounter {
+
+    private static final String KEY_PREFIX = "notification:unread:";
+    private static final String RECONCILE_LOCK_KEY = "notification:unread-reconcile:lock";
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    // 키가 있으면 증감 (0 미만이면 0), 없으면 그대로
+    private static final byte[] ADJUST_SCRIPT = (
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "local v = redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+            "if v < 0 then redis.call('SET', KEYS[1], 0, 'KEEPTTL') return 0 end " +
+            "return v").getBytes(StandardCharsets.UTF_8);
+
+    // 키가 있으면 값만 교체 (ttl 유지)
+    private static final byte[] OVERWRITE_SCRIPT = (
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'KEEPTTL') " +
+            "return 1").getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final NotificationRepository notificationRepository;
+
+    @Value("${notification.unread.ttl-millis:604800000}")
+    private long ttlMillis;
+    @Value("${notification.unread.reconcile-interval-millis:600000}")
+    private long reconcileIntervalMillis;
+
+    public Long get(Long userId) {
+        Object value = redisTemplate.opsForValue().get(key(userId));
+        if (value != null) {
+            return Long.parseLong(value.toString());
+        }
+        Long count = notificationRepository.countByReceiverAndIsRead(userId, false);
+        redisTemplate.opsForValue().setIfAbsent(key(userId), String.valueOf(count), Duration.ofMillis(ttlMillis));
+        return count;
+    }
+
+    // 새로 저장된 알림 수만큼 증가 (사용자 여러 명을 한 번에)
+    public void incrementAll(Map<Long, Long> countsByUser) {
+        if (countsByUser.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                countsByUser.forEach((userId, count) -> connection.scriptingCommands().eval(ADJUST_SCRIPT, ReturnType.INTEGER, 1,
+                        bytes(key(userId)), bytes(String.valueOf(count))));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // 어긋난 값은 reconciler 가 복구
+            log.warn("안읽은 알림 수 증가 실패: {}", e.getMessage());
+        }
+    }
+
+    // 알림 하나 읽음 (커밋 후)
+    public void decrementAfterCommit(Long userId) {
+        afterCommit(() -> redisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.scriptingCommands().eval(ADJUST_SCRIPT, ReturnType.INTEGER, 1, bytes(key(userId)), bytes("-1"))));
+    }
+
+    // 전체 읽음, 전체 삭제 (커밋 후)
+    public void resetAfterCommit(Long userId) {
+        afterCommit(() -> redisTemplate.opsForValue().set(key(userId), "0", Duration.ofMillis(ttlMillis)));
+    }
+
+    // Redis 에 있는 사용자만 DB 값으로 덮어씀 (집계와 덮어쓰기 사이의 증감은 다음 주기에 복구)
+    @Scheduled(fixedDelayString = "${notification.unread.reconcile-interval-millis:600000}",
+            initialDelayString = "${notification.unread.reconcile-interval-millis:600000}")
+    public void reconcile() {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, "1",
+                Duration.ofMillis(reconcileIntervalMillis / 2));
+        if (!Boolean.TRUE.equals(acquired)) {
+            return;
+        }
+        int reconciled = 0;
+        List<Long> userIds = new ArrayList<>(RECONCILE_CHUNK_SIZE);
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                userIds.add(Long.parseLong(cursor.next().substring(KEY_PREFIX.length())));
+                if (userIds.size() == RECONCILE_CHUNK_SIZE) {
+                    reconciled += overwrite(userIds);
+                    userIds.clear();
+                }
+            }
+        }
+        if (!userIds.isEmpty()) {
+            reconciled += overwrite(userIds);
+        }
+        log.info("안읽은 알림 수 보정 {}명", reconciled);
+    }
+
+    private int overwrite(List<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        userIds.forEach(userId -> counts.put(userId, 0L));
+        for (Object[] row : notificationRepository.countUnreadByReceivers(userIds)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            counts.forEach((userId, count) -> connection.scriptingCommands().eval(OVERWRITE_SCRIPT, ReturnType.INTEGER, 1,
+                    bytes(key(userId)), bytes(String.valueOf(count))));
+            return null;
+        });
+        return counts.size();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,179 @@
+package com.dmarket.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 저장 (write-behind)
+ * - 알림을 큐에 모았다가 전용 스레드가 batch-size 건 또는 max-delay 가 지나면 JDBC batch insert 한 번으로 저장
+ * - 저장 후 발급된 알림 번호로 SSE 전달 (NotificationBroadcaster)
+ * - 큐가 가득 차면 호출한 스레드에서 바로 저장, 종료 시 남은 알림을 모두 저장
+ */
+@Slf4j
+@Component
+public class NotificationWriter {
+
+    private static final String INSERT_SQL = "insert into notification "
+            + "(receiver, event_name, content, url, is_read, notification_created_date) values (?, ?, ?, ?, ?, ?)";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationBroadcaster notificationBroadcaster;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    @Value("${notification.write.batch-size:500}")
+    private int batchSize;
+    @Value("${notification.write.max-delay-millis:100}")
+    private long maxDelayMillis;
+    @Value("${notification.write.shutdown-timeout-millis:10000}")
+    private long shutdownTimeoutMillis;
+
+    private final LinkedBlockingQueue<Notification> queue;
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public NotificationWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              NotificationBroadcaster notificationBroadcaster,
+                              NotificationUnreadCounter notificationUnreadCounter, MeterRegistry meterRegistry,
+                              @Value("${notification.write.queue-capacity:100000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.notificationBroadcaster = notificationBroadcaster;
+        this.notificationUnreadCounter = notificationUnreadCounter;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.writtenCounter = Counter.builder("notification.write.written")
+                .description("저장한 알림 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("notification.write.dropped")
+                .description("재시도 후에도 저장하지 못한 알림 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.write.queue", queue, LinkedBlockingQueue::size)
+                .description("저장 대기 중인 알림 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::run, "notification-writer");
+        worker.start();
+    }
+
+    public void enqueue(SendNotificationEvent event) {
+        Notification notification = Notification.create(event);
+        if (!running || !queue.offer(notification)) {
+            // 큐가 가득 찼거나 종료 중이면 바로 저장
+            write(List.of(notification));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 대기 중인 poll 은 max-delay 안에 끝나므로 interrupt 없이 (저장 중인 JDBC 호출 보호)
+        running = false;
+        worker.join(shutdownTimeoutMillis);
+        if (worker.isAlive()) {
+            log.warn("알림 저장 스레드 종료 대기 시간 초과, 남은 알림 {}건", queue.size());
+        }
+    }
+
+    private void run() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = running ? queue.poll(maxDelayMillis, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 알림이 들어온 뒤 max-delay 안에서 batch-size 까지 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Notification next = running && remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Notification> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> insert(batch));
+                writtenCounter.increment(batch.size());
+                notificationUnreadCounter.incrementAll(batch.stream()
+                        .collect(Collectors.groupingBy(Notification::getReceiver, Collectors.counting())));
+                for (int i = 0; i < batch.size(); i++) {
+                    Notification saved = batch.get(i).toBuilder().notiId(ids.get(i)).build();
+                    notificationBroadcaster.publish(new NotificationMessage(saved.getEventName(),
+                            String.valueOf(saved.getNotiId()), saved.getReceiver(), saved));
+                }
+                return;
+            } catch (DataAccessException | IllegalStateException e) {
+                log.warn("알림 저장 실패 ({}건, {}/{}회): {}", batch.size(), attempt, MAX_ATTEMPTS, e.getMessage());
+            }
+        }
+        droppedCounter.increment(batch.size());
+    }
+
+    private List<Long> insert(List<Notification> batch) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Notification notification : batch) {
+                    ps.setObject(1, notification.getReceiver());
+                    ps.setString(2, notification.getEventName());
+                    ps.setString(3, notification.getContent());
+                    ps.setString(4, notification.getUrl());
+                    ps.setBoolean(5, notification.getIsRead());
+                    ps.setTimestamp(6, Timestamp.valueOf(notification.getNotificationCreatedDate()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> ids = new ArrayList<>(batch.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != batch.size()) {
+                    throw new IllegalStateException("발급된 알림 번호 수 불일치: " + ids.size() + "/" + batch.size());
+                }
+                return ids;
+            }
+        });
+    }
+}
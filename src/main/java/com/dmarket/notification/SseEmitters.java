@@ -1,37 +1,75 @@
 package com.dmarket.notification;
 
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
+/**
+ * 사용자별 SSE 연결 목록
+ * - userId -> 해당 사용자의 emitter (emitter id -> emitter), 조회와 삭제 모두 사용자 단위 O(1)
+ * - 지표: sse.connections (전체 연결 수), sse.users (연결된 사용자 수)
+ */
 @Slf4j
-@Getter
 @Component
-@RequiredArgsConstructor
 public class SseEmitters {
-    private final ConcurrentHashMap<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Map<String, SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
 
-    public SseEmitter add(String id, SseEmitter emitter) {
-        emitters.put(id, emitter);
-        log.info("new emitter added: {}", emitter);
-        log.info("emitter list size: {}", emitters.size());
+    public SseEmitters(MeterRegistry meterRegistry) {
+        Gauge.builder("sse.connections", connectionCount, AtomicInteger::get)
+                .description("열려 있는 SSE 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("sse.users", emitters, Map::size)
+                .description("SSE 연결이 있는 사용자 수")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter add(Long userId, String id, SseEmitter emitter) {
+        emitters.compute(userId, (key, userEmitters) -> {
+            Map<String, SseEmitter> next = userEmitters == null ? new ConcurrentHashMap<>(2) : userEmitters;
+            if (next.put(id, emitter) == null) {
+                connectionCount.incrementAndGet();
+            }
+            return next;
+        });
+        log.debug("new emitter added: userId={}, id={}, connections={}", userId, id, connectionCount.get());
 
         return emitter;
     }
 
-    public Map<String, SseEmitter> findEmitter(String id){
-        return emitters.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(id))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    // 사용자의 emitter 목록 (없으면 빈 Map)
+    public Map<String, SseEmitter> findEmitters(Long userId) {
+        Map<String, SseEmitter> userEmitters = emitters.get(userId);
+        return userEmitters == null ? Map.of() : Map.copyOf(userEmitters);
+    }
+
+    // 마지막 연결이 끊기면 사용자 항목도 제거
+    public void delete(Long userId, String id) {
+        emitters.computeIfPresent(userId, (key, userEmitters) -> {
+            if (userEmitters.remove(id) != null) {
+                connectionCount.decrementAndGet();
+            }
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    // 사용자별 emitter 순회 (heartbeat)
+    public void forEach(BiConsumer<Long, Map<String, SseEmitter>> action) {
+        emitters.forEach(action);
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
     }
 
-    public void delete(String id) {
-        emitters.remove(id);
+    public int getUserCount() {
+        return emitters.size();
     }
 }
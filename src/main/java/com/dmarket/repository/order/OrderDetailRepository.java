@@ -2,6 +2,9 @@ package com.dmarket.repository.order;
 
 import com.dmarket.constant.OrderDetailState;
 import com.dmarket.domain.order.OrderDetail;
+import com.dmarket.domain.product.Product;
+import com.dmarket.domain.product.ProductImgs;
+import com.dmarket.domain.product.ProductOption;
 import com.dmarket.dto.common.ProductCommonDto;
 import com.dmarket.dto.response.ReviewResDto;
 import com.dmarket.dto.response.*;
@@ -13,7 +16,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -66,6 +74,30 @@ public interface OrderDetailRepository extends JpaRepository<OrderDetail, Long>
             "where od.orderId = :orderId and pi.imgId = (select min(pi2.imgId) from ProductImgs pi2 where pi2.productId = od.productId)")
     List<ProductCommonDto.ProductDetailListDto> findOrderDetailByOrderId(@Param("orderId") Long orderId);
 
+    @Query(value = "select od, p, po, pi " +
+            "from OrderDetail od " +
+            "join Product p on od.productId = p.productId " +
+            "join ProductOption po on od.optionId = po.optionId " +
+            "join ProductImgs pi on p.productId = pi.productId " +
+            "where od.orderId in :orderIds and pi.imgId = (select min(pi2.imgId) from ProductImgs pi2 where pi2.productId = od.productId) " +
+            "order by od.orderDetailId")
+    List<Object[]> findOrderDetailRowsByOrderIds(@Param("orderIds") List<Long> orderIds);
+
+    // 여러 주문의 상세 목록을 IN 쿼리 한 번으로 조회해 주문 번호별로 묶음 (상세가 없는 주문은 빈 목록)
+    default Map<Long, List<ProductCommonDto.ProductDetailListDto>> findOrderDetailsByOrderIds(List<Long> orderIds) {
+        Map<Long, List<ProductCommonDto.ProductDetailListDto>> detailsByOrderId = new HashMap<>();
+        orderIds.forEach(orderId -> detailsByOrderId.put(orderId, new ArrayList<>()));
+        if (orderIds.isEmpty()) {
+            return detailsByOrderId;
+        }
+        for (Object[] row : findOrderDetailRowsByOrderIds(orderIds)) {
+            OrderDetail orderDetail = (OrderDetail) row[0];
+            detailsByOrderId.get(orderDetail.getOrderId()).add(new ProductCommonDto.ProductDetailListDto(
+                    orderDetail, (Product) row[1], (ProductOption) row[2], (ProductImgs) row[3]));
+        }
+        return detailsByOrderId;
+    }
+
     @Query(value = "select new com.dmarket.dto.common.ProductCommonDto$ProductDetailListDto(od, p, po, pi) " +
             "from OrderDetail od " +
             "join Product p on od.productId = p.productId " +
@@ -77,15 +109,13 @@ public interface OrderDetailRepository extends JpaRepository<OrderDetail, Long>
             "order by od.orderDetailId desc")
     List<ProductCommonDto.ProductDetailListDto> findPageableOrderDetailByOrderId(Pageable pageable,@Param("orderId") Long orderId);
 
-    // count (orderDetailState) by userId
-    @Query(value = "SELECT COUNT(*) " +
+    // 사용자의 주문 상태별 상세 건수 (상태, 건수), 건수가 0 인 상태는 결과에 없음
+    @Query("SELECT od.orderDetailState, COUNT(od) " +
             "FROM OrderDetail od " +
             "JOIN Order o ON od.orderId = o.orderId " +
-            "JOIN User u ON o.userId = u.userId " +
-            "WHERE u.userId = :userId " +
-            "and od.orderDetailState = :orderDetailState " +
+            "WHERE o.userId = :userId " +
             "GROUP BY od.orderDetailState")
-    Long countOrderDetailByUserIdAndOrderDetailState(@Param("userId") Long userId, @Param("orderDetailState") OrderDetailState orderDetailState);
+    List<Object[]> countOrderDetailStatesByUserId(@Param("userId") Long userId);
 
     @Query("SELECT new com.dmarket.dto.response.OrderResDto$OrderCancelResDto(" +
             "   prod.productId, " +
@@ -128,10 +158,16 @@ public interface OrderDetailRepository extends JpaRepository<OrderDetail, Long>
             "where od.orderDetailId = :orderDetailId")
     Integer orderDetailTotalPrice(@Param("orderDetailId") Long orderDetailId);
 
-    // null 값 처리를 위해 메서드 수정
-    default Long safeCountOrderDetailByUserIdAndOrderDetailState(Long userId, OrderDetailState orderDetailState) {
-        Long count = countOrderDetailByUserIdAndOrderDetailState(userId, orderDetailState);
-        return count != null ? count : 0L;
+    // 모든 주문 상태의 건수를 한 번에 조회 (없는 상태는 0)
+    default Map<OrderDetailState, Long> countOrderDetailStates(Long userId) {
+        Map<OrderDetailState, Long> counts = new EnumMap<>(OrderDetailState.class);
+        for (OrderDetailState state : OrderDetailState.values()) {
+            counts.put(state, 0L);
+        }
+        for (Object[] row : countOrderDetailStatesByUserId(userId)) {
+            counts.put((OrderDetailState) row[0], (Long) row[1]);
+        }
+        return counts;
     }
 
 
@@ -149,6 +185,24 @@ public interface OrderDetailRepository extends JpaRepository<OrderDetail, Long>
             "ORDER BY o.orderDate DESC")
     Page<OrderListAdminResDto> findByStatus(@Param("status") OrderDetailState status, Pageable pageable);
 
+    // 배송 목록 커서 조회 (마지막 행의 (주문일, 주문 상세 id) 이후부터)
+    @Query("SELECT new com.dmarket.dto.response.OrderListAdminResDto(od.orderId, o.orderDate, od.orderDetailId, " +
+            "od.productId, od.optionId, po.optionName, po.optionValue, p.productBrand, p.productName, pi.imgAddress, " +
+            "od.orderDetailCount, od.orderDetailState) " +
+            "FROM OrderDetail od " +
+            "JOIN Order o ON od.orderId = o.orderId " +
+            "JOIN Product p ON od.productId = p.productId " +
+            "LEFT JOIN ProductOption po ON po.optionId = od.optionId " +
+            "LEFT JOIN ProductImgs pi ON pi.productId = p.productId AND pi.imgId IN " +
+            "  (SELECT min(pi2.imgId) FROM ProductImgs pi2 WHERE pi2.productId = p.productId) " +
+            "WHERE od.orderDetailState = :status " +
+            "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND od.orderDetailId < :lastId)) " +
+            "ORDER BY o.orderDate DESC, od.orderDetailId DESC")
+    List<OrderListAdminResDto> findByStatusAfter(@Param("status") OrderDetailState status, @Param("orderDate") LocalDateTime orderDate,
+                                                 @Param("lastId") Long lastId, Pageable pageable);
+
+    long countByOrderDetailState(OrderDetailState orderDetailState);
+
 
     OrderDetail findByOrderDetailId(Long orderDetailId);
 
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +24,15 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Page<Order> findByUserId(Long userId, Pageable pageable);
 
+    // 사용자 주문 목록 커서 조회 (마지막 행의 (주문일, id) 이후부터)
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId " +
+            "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.orderId < :lastId)) " +
+            "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<Order> findByUserIdAfter(@Param("userId") Long userId, @Param("orderDate") LocalDateTime orderDate,
+                                  @Param("lastId") Long lastId, Pageable pageable);
+
+    long countByUserId(Long userId);
+
     @Query("select o from Order o left join OrderDetail od on o.orderId = od.orderId where od.orderDetailId = :orderDetailId")
     Order findByOrderDetailId(@Param("orderDetailId") Long orderDetailId);
 
@@ -21,4 +21,9 @@ public interface ProductImgsRepository extends JpaRepository<ProductImgs, Long>
 
     List<ProductImgs> findAllByProductIdIn(List<Long> productIds);
 
+    // 상품별 대표 이미지(가장 먼저 등록된 이미지) 일괄 조회
+    @Query("select pi from ProductImgs pi where pi.imgId in (" +
+            "select min(pi2.imgId) from ProductImgs pi2 where pi2.productId in :productIds group by pi2.productId)")
+    List<ProductImgs> findFirstImgsByProductIdIn(@Param("productIds") List<Long> productIds);
+
 }
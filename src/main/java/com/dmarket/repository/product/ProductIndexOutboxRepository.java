@@ -0,0 +1,17 @@
+package com.dmarket.repository.product;
+
+import com.dmarket.domain.product.ProductIndexOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductIndexOutboxRepository extends JpaRepository<ProductIndexOutbox, Long> {
+
+    // 오래된 변경부터 조회
+    @Query("select o from ProductIndexOutbox o order by o.outboxId")
+    List<ProductIndexOutbox> findOldest(Pageable pageable);
+}
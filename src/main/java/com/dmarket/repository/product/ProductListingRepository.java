@@ -0,0 +1,102 @@
+package com.dmarket.repository.product;
+
+import com.dmarket.domain.product.ProductListing;
+import com.dmarket.dto.response.ProductResDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductListingRepository extends JpaRepository<ProductListing, Long> {
+
+    String REFRESH_SELECT = "select p.product_id, p.category_id, p.product_brand, p.product_name, " +
+            "(select min(i.img_address) from product_imgs i where i.product_id = p.product_id), " +
+            "p.product_sale_price, p.product_discount_rate, coalesce(p.product_rating, 0), " +
+            "round(coalesce(p.product_rating, 0) * 100), " +
+            "(select count(*) from product_review r where r.product_id = p.product_id), " +
+            "exists (select 1 from product_option o where o.product_id = p.product_id), " +
+            "p.product_created_date " +
+            "from product p ";
+
+    String REFRESH_UPSERT = "insert into product_listing (product_id, category_id, product_brand, product_name, product_img, " +
+            "product_sale_price, product_discount_rate, product_rating, rating_key, review_cnt, in_stock, product_created_date) ";
+
+    String ON_DUPLICATE_UPDATE = " on duplicate key update category_id = values(category_id), " +
+            "product_brand = values(product_brand), product_name = values(product_name), product_img = values(product_img), " +
+            "product_sale_price = values(product_sale_price), product_discount_rate = values(product_discount_rate), " +
+            "product_rating = values(product_rating), rating_key = values(rating_key), " +
+            "review_cnt = values(review_cnt), in_stock = values(in_stock), " +
+            "product_created_date = values(product_created_date)";
+
+    String LISTING_SELECT = "select new com.dmarket.dto.response.ProductResDto$ProductListResDto" +
+            "(l.productId, l.productBrand, l.productName, l.productImg, " +
+            "l.productSalePrice, l.productDiscountRate, l.productRating, l.reviewCnt) " +
+            "from ProductListing l ";
+
+    String LISTING_WHERE = "where l.categoryId = :cateId and l.inStock = true " +
+            "and l.productSalePrice between :minPrice and :maxPrice " +
+            "and CASE WHEN (:star = 0) THEN " +
+            "(l.productRating >= :star or l.productRating IS NULL) " +
+            "ELSE l.productRating >= :star END ";
+
+    // 카테고리별 상품 목록 조회 (category_id + 정렬 컬럼 인덱스 범위 스캔)
+    @Query(value = LISTING_SELECT + LISTING_WHERE,
+            countQuery = "select count(l) from ProductListing l " + LISTING_WHERE)
+    Page<ProductResDto.ProductListResDto> findByCateId(Pageable pageable, @Param("cateId") Long cateId,
+                                                       @Param("minPrice") Integer minPrice, @Param("maxPrice") Integer maxPrice,
+                                                       @Param("star") Float star);
+
+    @Query("select count(l) from ProductListing l " + LISTING_WHERE)
+    long countByCateId(@Param("cateId") Long cateId, @Param("minPrice") Integer minPrice,
+                       @Param("maxPrice") Integer maxPrice, @Param("star") Float star);
+
+    // 카테고리별 상품 목록 커서 조회 - 최신순 (마지막 행의 (등록일, id) 이후부터)
+    @Query("select l from ProductListing l " + LISTING_WHERE +
+            "and (l.productCreatedDate < :createdDate " +
+            "or (l.productCreatedDate = :createdDate and l.productId < :lastId)) " +
+            "order by l.productCreatedDate desc, l.productId desc")
+    List<ProductListing> findByCateIdAfterCreatedDate(@Param("cateId") Long cateId,
+                                                      @Param("minPrice") Integer minPrice, @Param("maxPrice") Integer maxPrice,
+                                                      @Param("star") Float star, @Param("createdDate") LocalDateTime createdDate,
+                                                      @Param("lastId") Long lastId, Pageable pageable);
+
+    // 카테고리별 상품 목록 커서 조회 - 리뷰 많은 순
+    @Query("select l from ProductListing l " + LISTING_WHERE +
+            "and (l.reviewCnt < :reviewCnt " +
+            "or (l.reviewCnt = :reviewCnt and l.productId < :lastId)) " +
+            "order by l.reviewCnt desc, l.productId desc")
+    List<ProductListing> findByCateIdAfterReviewCnt(@Param("cateId") Long cateId,
+                                                    @Param("minPrice") Integer minPrice, @Param("maxPrice") Integer maxPrice,
+                                                    @Param("star") Float star, @Param("reviewCnt") Long reviewCnt,
+                                                    @Param("lastId") Long lastId, Pageable pageable);
+
+    // 카테고리별 상품 목록 커서 조회 - 평점 높은 순 (Float 평점 대신 정수 정렬 키로 비교)
+    @Query("select l from ProductListing l " + LISTING_WHERE +
+            "and (l.ratingKey < :ratingKey " +
+            "or (l.ratingKey = :ratingKey and l.productId < :lastId)) " +
+            "order by l.ratingKey desc, l.productId desc")
+    List<ProductListing> findByCateIdAfterRating(@Param("cateId") Long cateId,
+                                                 @Param("minPrice") Integer minPrice, @Param("maxPrice") Integer maxPrice,
+                                                 @Param("star") Float star, @Param("ratingKey") Integer ratingKey,
+                                                 @Param("lastId") Long lastId, Pageable pageable);
+
+    // 정렬 키 컬럼 추가 전에 만들어진 행이 남아 있는지
+    boolean existsByRatingKeyIsNull();
+
+    // 상품 한 건의 목록 정보 재계산 (상품, 리뷰, 이미지, 옵션 변경 시 호출)
+    @Modifying(flushAutomatically = true)
+    @Query(value = REFRESH_UPSERT + REFRESH_SELECT + "where p.product_id = :productId" + ON_DUPLICATE_UPDATE, nativeQuery = true)
+    void refresh(@Param("productId") Long productId);
+
+    // 전체 상품 목록 정보 재계산
+    @Modifying(flushAutomatically = true)
+    @Query(value = REFRESH_UPSERT + REFRESH_SELECT + ON_DUPLICATE_UPDATE, nativeQuery = true)
+    void refreshAll();
+}
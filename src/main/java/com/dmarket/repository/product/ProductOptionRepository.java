@@ -3,9 +3,11 @@ package com.dmarket.repository.product;
 import com.dmarket.domain.product.ProductOption;
 import com.dmarket.dto.common.ProductCommonDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -27,4 +29,13 @@ public interface ProductOptionRepository extends JpaRepository<ProductOption, Lo
     @Query("SELECT CASE WHEN COUNT(o) > 0 THEN true ELSE false END FROM ProductOption o WHERE o.productId = :productId")
     boolean existsByProductId(@Param("productId") Long productId);
 
+    // 재고 증감 (현재 값 기준 상대 갱신, 재고 예약 flush 및 재고 추가에서 사용)
+    @Modifying
+    @Transactional
+    @Query("update ProductOption o set o.optionQuantity = o.optionQuantity + :count where o.optionId = :optionId")
+    int addOptionQuantity(@Param("optionId") Long optionId, @Param("count") Integer count);
+
+    @Query("select o.optionQuantity from ProductOption o where o.optionId = :optionId")
+    Integer findOptionQuantityByOptionId(@Param("optionId") Long optionId);
+
 }
@@ -18,24 +18,6 @@ import java.util.List;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-        // 카테고리별 상품 번호, 브랜드, 이름, 대표이미지, 판매가, 평점, 리뷰개수 조회
-        @Query(value = "select new com.dmarket.dto.response.ProductResDto$ProductListResDto" +
-                        "(p.productId, p.productBrand, p.productName, MIN(i.imgAddress) as productImg, " +
-                        "p.productSalePrice, p.productDiscountRate, p.productRating, COUNT(DISTINCT r.reviewId) as reviewCnt) "
-                        +
-                        "from Product p " +
-                        "join Category c on c.categoryId = p.categoryId " +
-                        "left join ProductReview r on r.productId = p.productId " +
-                        "left join ProductImgs i on i.productId = p.productId " +
-                        "where p.categoryId = :cateId and p.productSalePrice between :minPrice and :maxPrice " +
-                        "and CASE WHEN (:star = 0) THEN " +
-                        "(p.productRating >= :star or p.productRating IS NULL) " +
-                        "ELSE p.productRating >= :star END " +
-                        "and exists (select o from ProductOption o where o.productId = p.productId) " +
-                        "group by p.productId")
-        Page<ProductResDto.ProductListResDto> findByCateId(Pageable pageable, Long cateId, Integer minPrice,
-                        Integer maxPrice, Float star);
-
         // 상품 이름 or 브랜드로 목록 검색
         @Query(value = "select new com.dmarket.dto.response.ProductResDto$ProductListResDto" +
                         "(p.productId, p.productBrand, p.productName, MIN(i.imgAddress) as productImg, " +
@@ -177,4 +159,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         @Query("select p.productName from Product p where p.productId = :productId")
         String findProductName(Long productId);
 
+        // 상품 id 순 keyset 조회 (검색 인덱스 재색인)
+        @Query("select p from Product p where p.productId > :lastProductId order by p.productId")
+        List<Product> findAfterProductId(@Param("lastProductId") Long lastProductId, Pageable pageable);
+
 }
@@ -4,6 +4,7 @@ import com.dmarket.domain.user.Cart;
 import com.dmarket.dto.common.CartCommonDto;
 import com.dmarket.dto.response.CartResDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -34,4 +35,9 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     void deleteByOptionId(@Param("optionId") Long optionId);
  
     Optional<Cart> findByUserIdAndOptionId(Long userId, Long optionId);
+
+    // 주문한 옵션의 장바구니 상품 일괄 삭제
+    @Modifying
+    @Query("delete from Cart c where c.userId = :userId and c.optionId in :optionIds")
+    int deleteByUserIdAndOptionIdIn(@Param("userId") Long userId, @Param("optionIds") List<Long> optionIds);
 }
@@ -5,9 +5,14 @@ import com.dmarket.dto.common.MileageCommonDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface MileageRepository extends JpaRepository<Mileage, Long> {
 
@@ -17,4 +22,25 @@ public interface MileageRepository extends JpaRepository<Mileage, Long> {
             "from Mileage m " +
             "where m.userId = :userId")
     Page<MileageCommonDto.MileageDto> findByUserId(Pageable pageable, Long userId);
+
+    // 사용자의 마일리지 내역 커서 조회 (마지막 행의 (변경일, id) 이후부터)
+    @Query("select m from Mileage m " +
+            "where m.userId = :userId " +
+            "and (m.mileageDate < :mileageDate or (m.mileageDate = :mileageDate and m.mileageId < :lastId)) " +
+            "order by m.mileageDate desc, m.mileageId desc")
+    List<Mileage> findByUserIdAfter(@Param("userId") Long userId, @Param("mileageDate") LocalDateTime mileageDate,
+                                    @Param("lastId") Long lastId, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    // 구간 (fromId, toId] 사용자의 자동 충전 기록 한 번에 추가, since 이후 자동 충전 기록이 있는 사용자는 제외
+    @Modifying
+    @Query(value = "insert into mileage (user_id, remain_mileage, change_mileage, mileage_info, mileage_date) " +
+            "select u.user_id, :initMileage, :initMileage, 'AUTO_CHARGE', :chargeDate from user u " +
+            "where u.user_id > :fromId and u.user_id <= :toId " +
+            "and not exists (select 1 from mileage m where m.user_id = u.user_id " +
+            "and m.mileage_info = 'AUTO_CHARGE' and m.mileage_date >= :since)", nativeQuery = true)
+    int insertAutoChargeBetween(@Param("initMileage") Integer initMileage, @Param("fromId") Long fromId,
+                                @Param("toId") Long toId, @Param("since") LocalDateTime since,
+                                @Param("chargeDate") LocalDateTime chargeDate);
 }
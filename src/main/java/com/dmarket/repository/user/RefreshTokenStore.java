@@ -0,0 +1,107 @@
+package com.dmarket.repository.user;
+
+import com.dmarket.jwt.JWTUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Refresh 토큰 저장소 (Redis, 토큰은 SHA-256 해시로만 저장)
+ * - refresh:token:{refresh}   -> hash(access: 함께 발급된 access 해시, family: 로그인 단위 계열 id)
+ * - refresh:access:{access}   -> refresh 해시 (로그아웃 시 access 토큰으로 조회)
+ * - refresh:family:{family}   -> 계열의 현재 refresh 해시
+ * - refresh:used:{refresh}    -> 이미 교체된 refresh 의 계열 id (재사용 감지)
+ * - 저장, 교체, 폐기는 각각 Lua 스크립트 한 번으로 원자적으로 처리
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    public enum Rotation {
+        ROTATED,   // 교체 성공
+        NOT_FOUND, // 없는 토큰 (만료, 로그아웃)
+        REPLAYED   // 이미 교체된 토큰 재사용, 같은 계열의 토큰까지 폐기됨
+    }
+
+    private static final String PREFIX = "refresh:";
+    private static final long TTL_MILLIS = 240 * 60 * 60 * 1000L;
+
+    private static final RedisScript<Long> SAVE_SCRIPT = RedisScript.of(
+            "redis.call('HSET', KEYS[1], 'access', ARGV[1], 'family', ARGV[3]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[4]) " +
+            "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[4]) " +
+            "redis.call('SET', KEYS[3], ARGV[2], 'PX', ARGV[4]) " +
+            "return 1", Long.class);
+
+    // 1: 교체, 0: 없음, -1: 재사용 (계열의 현재 토큰 폐기)
+    private static final RedisScript<Long> ROTATE_SCRIPT = RedisScript.of(
+            "local family = redis.call('HGET', KEYS[1], 'family') " +
+            "if not family then " +
+            "  local usedFamily = redis.call('GET', KEYS[2]) " +
+            "  if not usedFamily then return 0 end " +
+            "  local familyKey = ARGV[4] .. 'family:' .. usedFamily " +
+            "  local current = redis.call('GET', familyKey) " +
+            "  if current then " +
+            "    local currentKey = ARGV[4] .. 'token:' .. current " +
+            "    local currentAccess = redis.call('HGET', currentKey, 'access') " +
+            "    if currentAccess then redis.call('DEL', ARGV[4] .. 'access:' .. currentAccess) end " +
+            "    redis.call('DEL', currentKey, familyKey) " +
+            "  end " +
+            "  return -1 " +
+            "end " +
+            "local access = redis.call('HGET', KEYS[1], 'access') " +
+            "redis.call('DEL', KEYS[1], ARGV[4] .. 'access:' .. access) " +
+            "redis.call('SET', KEYS[2], family, 'PX', ARGV[3]) " +
+            "redis.call('HSET', KEYS[3], 'access', ARGV[1], 'family', family) " +
+            "redis.call('PEXPIRE', KEYS[3], ARGV[3]) " +
+            "redis.call('SET', KEYS[4], ARGV[2], 'PX', ARGV[3]) " +
+            "redis.call('SET', ARGV[4] .. 'family:' .. family, ARGV[2], 'PX', ARGV[3]) " +
+            "return 1", Long.class);
+
+    private static final RedisScript<Long> REVOKE_SCRIPT = RedisScript.of(
+            "local refresh = redis.call('GET', KEYS[1]) " +
+            "if not refresh then return 0 end " +
+            "local refreshKey = ARGV[1] .. 'token:' .. refresh " +
+            "local family = redis.call('HGET', refreshKey, 'family') " +
+            "redis.call('DEL', KEYS[1], refreshKey) " +
+            "if family then redis.call('DEL', ARGV[1] .. 'family:' .. family) end " +
+            "return 1", Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    // 로그인 시 새 계열로 저장
+    public void save(String refreshToken, String accessToken) {
+        String refreshHash = JWTUtil.hash(refreshToken);
+        String accessHash = JWTUtil.hash(accessToken);
+        String family = UUID.randomUUID().toString();
+        redisTemplate.execute(SAVE_SCRIPT,
+                List.of(PREFIX + "token:" + refreshHash, PREFIX + "access:" + accessHash, PREFIX + "family:" + family),
+                accessHash, refreshHash, family, String.valueOf(TTL_MILLIS));
+    }
+
+    // 기존 refresh 를 새 refresh, access 로 교체
+    public Rotation rotate(String refreshToken, String newRefreshToken, String newAccessToken) {
+        String refreshHash = JWTUtil.hash(refreshToken);
+        String newRefreshHash = JWTUtil.hash(newRefreshToken);
+        String newAccessHash = JWTUtil.hash(newAccessToken);
+        Long result = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(PREFIX + "token:" + refreshHash, PREFIX + "used:" + refreshHash,
+                        PREFIX + "token:" + newRefreshHash, PREFIX + "access:" + newAccessHash),
+                newAccessHash, newRefreshHash, String.valueOf(TTL_MILLIS), PREFIX);
+        if (result == null || result == 0) {
+            return Rotation.NOT_FOUND;
+        }
+        return result > 0 ? Rotation.ROTATED : Rotation.REPLAYED;
+    }
+
+    // 로그아웃: access 토큰과 함께 발급된 refresh 폐기
+    public boolean revokeByAccessToken(String accessToken) {
+        Long result = redisTemplate.execute(REVOKE_SCRIPT,
+                List.of(PREFIX + "access:" + JWTUtil.hash(accessToken)), PREFIX);
+        return result != null && result > 0;
+    }
+}
@@ -3,12 +3,14 @@ package com.dmarket.repository.user;
 import com.dmarket.constant.Role;
 import com.dmarket.domain.user.User;
 import com.dmarket.dto.response.UserResDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -36,16 +38,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
                         "where u.userId = :userId")
         UserResDto.UserHeaderInfo findUserHeaderInfoByUserId(Long userId);
 
-        @Modifying
-        @Query("UPDATE User u SET u.userMileage = u.userMileage + :calculatedAmount " +
-                        "WHERE u.userId IN (" +
-                        "SELECT o.userId FROM Order o " +
-                        "JOIN OrderDetail od ON o.orderId = od.orderId " +
-                        "JOIN Return r ON od.orderDetailId = r.orderDetailId " +
-                        "WHERE r.returnId = :returnId)")
-        void updateUserMileageByReturnId(@Param("returnId") Long returnId,
-                        @Param("calculatedAmount") Integer calculatedAmount);
-
         @Query("select u from User u " +
                         "WHERE u.userId IN (" +
                         "SELECT o.userId FROM Order o " +
@@ -84,4 +76,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
         @Query("select u.userId from User u")
         List<Long> findAllUserId();
+
+        // 잔액이 충분할 때만 차감 (변경된 행 수, 0 이면 잔액 부족 또는 없는 사용자)
+        @Modifying(flushAutomatically = true)
+        @Query("update User u set u.userMileage = u.userMileage - :amount where u.userId = :userId and u.userMileage >= :amount")
+        int debitMileage(@Param("userId") Long userId, @Param("amount") Integer amount);
+
+        @Modifying(flushAutomatically = true)
+        @Query("update User u set u.userMileage = u.userMileage + :amount where u.userId = :userId")
+        int creditMileage(@Param("userId") Long userId, @Param("amount") Integer amount);
+
+        @Query("select u.userMileage from User u where u.userId = :userId")
+        Integer findMileageByUserId(@Param("userId") Long userId);
+
+        // 사용자 번호 keyset 조회 (lastUserId 이후부터)
+        @Query("select u.userId from User u where u.userId > :lastUserId order by u.userId")
+        List<Long> findUserIdsAfter(@Param("lastUserId") Long lastUserId, Pageable pageable);
+
+        // 구간 (fromId, toId] 사용자 마일리지 초기화, since 이후 자동 충전 기록이 있는 사용자는 제외 (재실행해도 한 번만 적용)
+        @Modifying
+        @Query(value = "update user u set u.user_mileage = :initMileage " +
+                "where u.user_id > :fromId and u.user_id <= :toId " +
+                "and not exists (select 1 from mileage m where m.user_id = u.user_id " +
+                "and m.mileage_info = 'AUTO_CHARGE' and m.mileage_date >= :since)", nativeQuery = true)
+        int resetUserMileageBetween(@Param("initMileage") Integer initMileage, @Param("fromId") Long fromId,
+                                    @Param("toId") Long toId, @Param("since") LocalDateTime since);
 }
@@ -10,7 +10,6 @@ import com.dmarket.domain.order.OrderDetail;
 import com.dmarket.domain.order.Refund;
 import com.dmarket.domain.order.Return;
 import com.dmarket.domain.product.*;
-import com.dmarket.domain.user.Mileage;
 import com.dmarket.domain.user.MileageReq;
 import com.dmarket.domain.user.User;
 import com.dmarket.dto.common.*;
@@ -24,6 +23,7 @@ import com.dmarket.exception.ConflictException;
 import com.dmarket.exception.ErrorCode;
 import com.dmarket.exception.NotFoundException;
 import com.dmarket.jwt.JWTUtil;
+import com.dmarket.jwt.UserSnapshotCache;
 import com.dmarket.notification.SendNotificationEvent;
 import com.dmarket.repository.board.FaqRepository;
 import com.dmarket.repository.board.InquiryReplyRepository;
@@ -35,7 +35,6 @@ import com.dmarket.repository.order.RefundRepository;
 import com.dmarket.repository.order.ReturnRepository;
 import com.dmarket.repository.product.*;
 import com.dmarket.repository.user.CartRepository;
-import com.dmarket.repository.user.MileageRepository;
 import com.dmarket.repository.user.MileageReqRepository;
 import com.dmarket.repository.user.UserRepository;
 import com.dmarket.repository.user.WishlistRepository;
@@ -50,7 +49,6 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.dmarket.exception.ErrorCode.*;
@@ -77,17 +75,21 @@ public class AdminService {
     private final ProductImgsRepository productImgsRepository;
     private final ProductOptionRepository productOptionRepository;
     private final ProductReviewRepository productReviewRepository;
+    private final ProductListingRepository productListingRepository;
     private final QnaRepository qnaRepository;
     private final QnaReplyRepository qnaReplyRepository;
 
-    private final MileageRepository mileageRepository;
     private final MileageReqRepository mileageReqRepository;
     private final UserRepository userRepository;
     private final WishlistRepository wishlistRepository;
     private final CartRepository cartRepository;
     private final UserService userService;
     private final ProductService productService;
+    private final StockReservationService stockReservationService;
+    private final ProductIndexService productIndexService;
+    private final MileageLedgerService mileageLedgerService;
     private final JWTUtil jwtUtil;
+    private final UserSnapshotCache userSnapshotCache;
     private final ApplicationEventPublisher publisher;
 
     private static final int PAGE_POST_COUNT = 10;
@@ -109,6 +111,9 @@ public class AdminService {
             throw new NotFoundException(USER_NOT_FOUND);
         }
         userRepository.deleteByUserId(userId);
+
+        // 인증 필터의 사용자 캐시 무효화
+        userSnapshotCache.invalidate(userId);
     }
 
     public List<UserResDto.Search> getUsersFindByEmail(String email) {
@@ -175,7 +180,8 @@ public class AdminService {
         if (request) {
             mileageReq.updateState(MileageReqState.APPROVAL);
             User user = findUserById(mileageReq.getUserId());
-            user.updateMileage(mileageReq.getMileageReqAmount());
+            // 마일리지 적립, 사용 내역에 추가
+            mileageLedgerService.credit(user.getUserId(), mileageReq.getMileageReqAmount(), MileageContents.CHARGE);
 
             // 마일리지 1000단위 콤마
             DecimalFormat df = new DecimalFormat("###,###");
@@ -185,10 +191,6 @@ public class AdminService {
             publisher.publishEvent(SendNotificationEvent.of("mileage", user.getUserId(),
                     user.getUserName() + "님의 " + mileageAmount + "마일리지 충전 요청이 승인되었습니다.",
                     "/mydkt/mileageInfo"));
-
-            // 사용자 마일리지 사용 내역에 추가
-            userService.addMileageHistory(user.getUserId(), user.getUserMileage(), mileageReq.getMileageReqAmount(),
-                    MileageContents.CHARGE);
         } else {
             mileageReq.updateState(MileageReqState.REFUSAL);
             // 알림 전송
@@ -260,6 +262,12 @@ public class AdminService {
 
         // ProductImgs 저장
         saveProductImgs(savedProduct.getProductId(), productList.getImgList());
+
+        // 상품 목록 읽기 모델 반영
+        productListingRepository.refresh(savedProduct.getProductId());
+
+        // 검색 인덱스 반영 (색인 후 검색 결과 캐시 무효화)
+        productIndexService.enqueue(savedProduct.getProductId());
     }
 
     @Transactional
@@ -311,6 +319,8 @@ public class AdminService {
 
         // ProductOption 리스트 처리 전, 기존 옵션 삭제
         if (!productReqDto.getOptionList().isEmpty()) {
+            productOptionRepository.findOptionsByProductIdIn(List.of(productReqDto.getProductId()))
+                    .forEach(option -> stockReservationService.evict(option.getOptionId()));
             productOptionRepository.deleteByProductId(productReqDto.getProductId());
             if (productReqDto.getOptionList() != null) {
                 for (OptionReqDto option : productReqDto.getOptionList()) {
@@ -340,6 +350,12 @@ public class AdminService {
                 }
             }
         }
+
+        // 상품 목록 읽기 모델 반영
+        productListingRepository.refresh(product.getProductId());
+
+        // 검색 인덱스 반영 (색인 후 검색 결과 캐시 무효화)
+        productIndexService.enqueue(product.getProductId());
     }
 
     // 상품 상세 정보 조회
@@ -445,13 +461,11 @@ public class AdminService {
                 throw new IllegalArgumentException("상품 정보 및 추가 수량을 확인하세요.");
             }
 
-            Optional<ProductOption> optionalProductOption = productOptionRepository.findById(optionId);
-
-            if (optionalProductOption.isPresent()) {
-                ProductOption productOption = optionalProductOption.get();
+            // 예약 차감분이 flush 되는 중에도 유실되지 않도록 현재 값 기준으로 증가
+            int updated = productOptionRepository.addOptionQuantity(optionId, addCount);
 
-                productOption.setOptionQuantity(productOption.getOptionQuantity() + addCount);
-                productOptionRepository.save(productOption);
+            if (updated > 0) {
+                stockReservationService.restock(optionId, addCount);
             } else {
                 throw new IllegalArgumentException("상품 옵션을 찾을 수 없습니다.");
             }
@@ -763,11 +777,15 @@ public class AdminService {
     @Transactional
     public void deleteOptionByOptionId(Long productId, Long optionId) {
         productOptionRepository.deleteByOptionId(optionId);
+        stockReservationService.evict(optionId);
         cartRepository.deleteByOptionId(optionId);
         
         if (!productOptionRepository.existsByProductId(productId)) {
             wishlistRepository.deleteByProductId(productId);
         }
+
+        // 상품 목록 읽기 모델의 옵션 존재 여부 반영
+        productListingRepository.refresh(productId);
     }
 
     // 상품 목록 조회
@@ -824,9 +842,10 @@ public class AdminService {
         Role role = Role.valueOf(newRole.getNewRole().toUpperCase());
         user.changeRole(role);
         userRepository.save(user); // 변경된 역할을 저장
+        userSnapshotCache.invalidate(userId);
 
         // 토큰 재발급
-        String newaccessToken = jwtUtil.createAccessJwt(userId, newRole.getNewRole(), user.getUserEmail());
+        String newaccessToken = jwtUtil.createAccessJwt(userId, user.getUserEmail(), role.name());
         String newrefreshToken = jwtUtil.createRefreshJwt(userId);
 
         return new UserCommonDto.TokenResponseDto(newaccessToken, newrefreshToken, userId, newRole.toString());
@@ -852,16 +871,9 @@ public class AdminService {
         orderDetailRepository.updateReturnCompleteByReturnId(returnId, OrderDetailState.RETURN_COMPLETE);
         updateReturnState(returnId, "환불 완료");
         refundRepository.updateRefundCompleteByReturnId(returnId);
-        userRepository.updateUserMileageByReturnId(returnId, amount);
         User user = userRepository.getUserFindByReturnId(returnId);
-        // 사용자 마일리지 사용 내역에 추가
-        Mileage mileage = Mileage.builder()
-                .userId(user.getUserId())
-                .remainMileage(user.getUserMileage())
-                .changeMileage(amount)
-                .mileageInfo(MileageContents.REFUND)
-                .build();
-        mileageRepository.save(mileage);
+        // 마일리지 환불, 사용 내역에 추가
+        mileageLedgerService.credit(user.getUserId(), amount, MileageContents.REFUND);
     }
 
     // 취소 목록 조회
@@ -910,6 +922,19 @@ public class AdminService {
         }
     }
 
+    // 배송 목록 커서 조회 (주문일 + orderDetailId 기준)
+    public CursorResDto<OrderListAdminResDto> getOrdersByStatusByCursor(String status, String cursor, boolean withTotal) {
+        OrderDetailState orderStatus = OrderDetailState.fromLabel(status);
+        if (orderStatus == null) {
+            throw new IllegalArgumentException("유효하지 않은 주문 상태: " + status);
+        }
+        CursorDto last = CursorDto.decode(cursor);
+        List<OrderListAdminResDto> rows = orderDetailRepository.findByStatusAfter(orderStatus, last.dateKey(), last.getId(),
+                PageRequest.of(0, PAGE_POST_COUNT + 1));
+        Long totalCount = withTotal ? orderDetailRepository.countByOrderDetailState(orderStatus) : null;
+        return CursorResDto.of(rows, PAGE_POST_COUNT, o -> CursorDto.of(o.getOrderDate(), o.getDetailId()), totalCount);
+    }
+
     // 페이지 번호 유효성 검사 메소드
     public int pageValidation(int page) {
         page = page > 0 ? page - 1 : page;
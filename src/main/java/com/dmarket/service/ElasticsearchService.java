@@ -1,42 +1,29 @@
 package com.dmarket.service;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch._types.FieldSort;
-import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
 import co.elastic.clients.elasticsearch._types.SortOrder;
-import co.elastic.clients.elasticsearch._types.query_dsl.MatchQuery;
-import co.elastic.clients.elasticsearch._types.query_dsl.MultiMatchQuery;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
-import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.Hit;
-import co.elastic.clients.json.JsonData;
-import co.elastic.clients.json.jackson.JacksonJsonpMapper;
-import co.elastic.clients.transport.ElasticsearchTransport;
-import co.elastic.clients.transport.rest_client.RestClientTransport;
 import com.dmarket.domain.document.ProductDocument;
+import com.dmarket.dto.common.CursorDto;
 import com.dmarket.dto.common.ProductCommonDto;
-import com.dmarket.dto.response.OrderResDto;
 import com.dmarket.dto.response.ProductResDto;
-import com.dmarket.dto.response.ReviewResDto;
 import com.dmarket.elastic.ESUtil;
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import jakarta.annotation.PostConstruct;
+import com.dmarket.elastic.SearchCircuitBreaker;
+import com.dmarket.repository.product.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.http.Header;
-import org.apache.http.HttpHost;
-import org.apache.http.message.BasicHeader;
-import org.elasticsearch.client.RestClient;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.PropertySource;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.*;
-import org.springframework.data.elasticsearch.annotations.Setting;
-import org.springframework.data.elasticsearch.core.SearchHit;
-import org.springframework.data.elasticsearch.core.SearchHits;
-import org.springframework.stereotype.Component;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -44,6 +31,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 
 @Slf4j
@@ -51,36 +40,123 @@ import java.util.function.Supplier;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ElasticsearchService {
-    @Value("${elasticsearch.serverUrl}")
-    private String serverUrl;
-    @Value("${elasticsearch.apiKey}")
-    private String apiKey;
+
+    private final ElasticsearchClient client;
+    private final ElasticsearchAsyncClient asyncClient;
+    private final SearchCircuitBreaker circuitBreaker;
+    private final ThreadPoolTaskExecutor searchExecutor;
+    private final SearchCacheService searchCacheService;
+    private final ProductRepository productRepository;
 
     private static final int PAGE_SIZE = 16;
+    private static final String INDEX_NAME = ESUtil.PRODUCT_INDEX;
+    private static final String REVIEW_COUNT_FIELD = "review_count";
+    private static final String REVIEW_COUNT_PIPELINE = "product-review-count";
+
+    public ProductResDto.ProductSearchListResDto getElasticSearchProducts(int pageNo, String query, String sorter,
+                                                                          Integer minPrice, Integer maxPrice, Float star) throws IOException {
+        return search(searchRequest(pageNo, null, query, sorter, minPrice, maxPrice, star), false,
+                searchCacheService.key(query, sorter, minPrice, maxPrice, star, pageNo, null),
+                () -> searchFromDatabase(pageNo, query, sorter, minPrice, maxPrice, star));
+    }
+
+    // 리뷰 많은 순 검색
+    // review_count 필드로 인덱스에서 정렬하고 한 페이지만 가져옴, cursor 가 있으면 search_after 로 다음 페이지 조회
+    public ProductResDto.ProductSearchListResDto getElasticSearchProductsReviewORder(int pageNo, String cursor, String query,
+                                                                          Integer minPrice, Integer maxPrice, Float star) throws IOException {
+        return search(searchRequest(pageNo, cursor, query, REVIEW_COUNT_FIELD, minPrice, maxPrice, star), true,
+                searchCacheService.key(query, REVIEW_COUNT_FIELD, minPrice, maxPrice, star, pageNo, cursor),
+                () -> searchFromDatabase(pageNo, query, REVIEW_COUNT_FIELD, minPrice, maxPrice, star));
+    }
 
-    private RestClient restClient;
-    private ElasticsearchTransport transport;
-    private ElasticsearchClient client;
+    // 비동기 검색 (요청 스레드를 점유하지 않고 ES 응답 시 완료)
+    // ES 호출 실패, 서킷 open 시 DB 검색으로 대체
+    public CompletableFuture<ProductResDto.ProductSearchListResDto> searchProductsAsync(int pageNo, String cursor, String query, String sorter,
+                                                                                    Integer minPrice, Integer maxPrice, Float star) {
+        boolean reviewOrder = sorter.equals(REVIEW_COUNT_FIELD);
+        String cacheKey = searchCacheService.key(query, sorter, minPrice, maxPrice, star, pageNo, reviewOrder ? cursor : null);
+        ProductResDto.ProductSearchListResDto cached = searchCacheService.get(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
 
-    private static List<ProductCommonDto.ProductSearchListDto> productSearchList = new ArrayList<>();
+        Supplier<ProductResDto.ProductSearchListResDto> fallback =
+                () -> searchFromDatabase(pageNo, query, sorter, minPrice, maxPrice, star);
+        SearchRequest request = searchRequest(pageNo, cursor, query, sorter, minPrice, maxPrice, star);
+        if (!circuitBreaker.allowRequest()) {
+            return runOnSearchExecutor(fallback);
+        }
 
-    @PostConstruct
-    public void init() {
-        restClient = RestClient
-                .builder(HttpHost.create(serverUrl))
-                .setDefaultHeaders(new Header[]{
-                        new BasicHeader("Authorization", "ApiKey " + apiKey)
+        // 요청을 보내기 전에 던진 예외도 실패로 기록 (시험 요청이 끝나지 않은 채 남지 않도록)
+        CompletableFuture<SearchResponse<ProductDocument>> sent;
+        try {
+            sent = asyncClient.search(request, ProductDocument.class);
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        // 서킷에는 ES 호출 결과만 기록 (이후 변환, 실행기 거절은 ES 실패가 아님)
+        return sent
+                .whenComplete((response, e) -> {
+                    if (e == null) {
+                        circuitBreaker.recordSuccess();
+                    } else {
+                        circuitBreaker.recordFailure();
+                    }
                 })
-                .build();
+                .thenCompose(response -> runOnSearchExecutor(() -> {
+                    ProductResDto.ProductSearchListResDto products = toSearchListResDto(response, reviewOrder);
+                    searchCacheService.put(cacheKey, products);
+                    return products;
+                }))
+                .exceptionallyCompose(e -> {
+                    log.warn("[ElasticsearchService] 비동기 검색 실패, DB 검색으로 대체: query={}", query, e);
+                    return runOnSearchExecutor(fallback);
+                });
+    }
 
-        transport = new RestClientTransport(
-                restClient, new JacksonJsonpMapper());
-        client = new ElasticsearchClient(transport);
+    // 검색 실행기에서 실행, 실행기가 가득 차 거절되면 호출한 스레드에서 실행 (과부하 시에만 ES I/O 스레드에서도 실행, 500 대신 처리 속도를 늦춤)
+    private <T> CompletableFuture<T> runOnSearchExecutor(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, searchExecutor);
+        } catch (RejectedExecutionException e) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
     }
 
-    public ProductResDto.ProductSearchListResDto getElasticSearchProducts(int pageNo, String query, String sorter,
-                                                                          Integer minPrice, Integer maxPrice, Float star) throws IOException {
+    // 캐시에 없으면 검색 (DB 대체 결과는 캐시하지 않음)
+    private ProductResDto.ProductSearchListResDto search(SearchRequest request, boolean reviewOrder, String cacheKey,
+                                                         Supplier<ProductResDto.ProductSearchListResDto> fallback) {
+        ProductResDto.ProductSearchListResDto cached = searchCacheService.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        if (!circuitBreaker.allowRequest()) {
+            return fallback.get();
+        }
+        SearchResponse<ProductDocument> response;
+        try {
+            response = client.search(request, ProductDocument.class);
+        } catch (IOException | RuntimeException e) {
+            // ElasticsearchException 외의 런타임 예외도 실패로 기록 (시험 요청이 끝나지 않은 채 남지 않도록)
+            circuitBreaker.recordFailure();
+            log.warn("[ElasticsearchService] 검색 실패, DB 검색으로 대체", e);
+            return fallback.get();
+        }
+        circuitBreaker.recordSuccess();
+        ProductResDto.ProductSearchListResDto products = toSearchListResDto(response, reviewOrder);
+        searchCacheService.put(cacheKey, products);
+        return products;
+    }
 
+    // 검색 요청 생성
+    // - 리뷰 많은 순: review_count, product_id 내림차순 (cursor 가 있으면 search_after)
+    // - 그 외: 정렬 필드, _score 내림차순
+    private SearchRequest searchRequest(int pageNo, String cursor, String query, String sorter,
+                                        Integer minPrice, Integer maxPrice, Float star) {
         List<String> fields = Arrays.asList("product_name^2", "product_brand^2", "product_description^1");
         List<String> noriFields = Arrays.asList("product_name.nori^2", "product_brand.nori^2", "product_description.nori^1");
         List<String> ngramFields = Arrays.asList("product_name.ngram^1.5", "product_brand.ngram^1.5", "product_description.ngram^0.5");
@@ -95,126 +171,97 @@ public class ElasticsearchService {
         // 검색어 필터링 ngram
         Query byNgramName = ESUtil.filterByNgramSearch(ngramFields, query);
 
-        SortOptions sort1 = new SortOptions.Builder().field(f -> f.field("_score").order(SortOrder.Desc)).build();
-        SortOptions sort2 = new SortOptions.Builder().field(f -> f.field(sorter).order(SortOrder.Desc)).build();
-        List<SortOptions> sortList = new ArrayList<SortOptions>();
-        sortList.add(sort2); sortList.add(sort1);
-
-        // 검색
-        SearchResponse<ProductDocument> response = client.search(s -> s
-                        .index("new-product")
-                        .from(pageNo * PAGE_SIZE)
-                        .size(PAGE_SIZE)
-                        .minScore(10.0)
-                        .query(q -> q
-                                .bool(b -> b
-                                        .should(byName)
-                                        .should(byNoriname)
-                                        .should(byNgramName)
-                                        .minimumShouldMatch("1")
-                                        .must(byPrice)
-                                        .must(byRating)
-                                )
-                        )
-                        .sort(sortList),ProductDocument.class
-        );
-    int totalValues = (int)response.hits().total().value();
-    int totalPages = getTotalPages(totalValues);
-    List<ProductCommonDto.ProductSearchListDto> productList = new ArrayList<>();
-
-    return new ProductResDto.ProductSearchListResDto(totalPages, getResponse(response, productList));
-    }
+        boolean reviewOrder = sorter.equals(REVIEW_COUNT_FIELD);
+        CursorDto last = !reviewOrder || cursor == null || cursor.isBlank() ? null : CursorDto.decode(cursor);
 
-    public ProductResDto.ProductSearchListResDto getElasticSearchProductsReviewORder(int pageNo, String query, String sorter,
-                                                                          Integer minPrice, Integer maxPrice, Float star) throws IOException {
-        List<String> fields = Arrays.asList("product_name^2", "product_brand^2", "product_description^1");
-        List<String> noriFields = Arrays.asList("product_name.nori^2", "product_brand.nori^2", "product_description.nori^1");
-        List<String> ngramFields = Arrays.asList("product_name.ngram^1.5", "product_brand.ngram^1.5", "product_description.ngram^0.5");
-        // 별점 필터링
-        Query byRating = ESUtil.filterByRating(star);
-        // product_sale_price 필터링
-        Query byPrice = ESUtil.fileterByPrice(minPrice, maxPrice);
-        // 검색어 필터링
-        Query byName = ESUtil.filterBySearch(fields, query);
-        // 검색어 필터링 nori
-        Query byNoriname = ESUtil.filterByNoriSearch(noriFields, query);
-        // 검색어 필터링 ngram
-        Query byNgramName = ESUtil.filterByNgramSearch(ngramFields, query);
+        return SearchRequest.of(s -> {
+            s.index(INDEX_NAME)
+                    .size(PAGE_SIZE)
+                    .minScore(10.0)
+                    .query(q -> q
+                            .bool(b -> b
+                                    .should(byName)
+                                    .should(byNoriname)
+                                    .should(byNgramName)
+                                    .minimumShouldMatch("1")
+                                    .must(byPrice)
+                                    .must(byRating)
+                            )
+                    );
+            if (reviewOrder) {
+                s.sort(so -> so.field(f -> f.field(REVIEW_COUNT_FIELD).order(SortOrder.Desc).unmappedType(FieldType.Integer)))
+                        .sort(so -> so.field(f -> f.field("product_id").order(SortOrder.Desc)));
+            } else {
+                s.sort(so -> so.field(f -> f.field(sorter).order(SortOrder.Desc)))
+                        .sort(so -> so.field(f -> f.field("_score").order(SortOrder.Desc)));
+            }
+            if (last == null) {
+                s.from(pageNo * PAGE_SIZE);
+            } else {
+                s.searchAfter(FieldValue.of(last.longKey()), FieldValue.of(last.getId()));
+            }
+            return s;
+        });
+    }
 
-        // 검색
-        SearchResponse<ProductDocument> response = client.search(s -> s
-                .index("new-product")
-                .size(5000)
-                .minScore(10.0)
-                .query(q -> q
-                        .bool(b -> b
-                                .should(byName)
-                                .should(byNoriname)
-                                .should(byNgramName)
-                                .minimumShouldMatch("1")
-                                .must(byPrice)
-                                .must(byRating)
-                        )
-                )
-                .sort(so -> so
-                        .field(f -> f
-                                .field("_score")
-                                .order(SortOrder.Desc))
-                ),ProductDocument.class
-        );
+    private ProductResDto.ProductSearchListResDto toSearchListResDto(SearchResponse<ProductDocument> response, boolean reviewOrder) {
         int totalValues = (int)response.hits().total().value();
+        List<ProductCommonDto.ProductSearchListDto> productList = getResponse(response, new ArrayList<>());
 
-        productSearchList = getResponse(response, productSearchList);
-        quickSort(0,productSearchList.size()-1);
+        // 리뷰 많은 순은 한 페이지가 가득 찼으면 마지막 상품의 (리뷰 수, id)를 다음 페이지 커서로 전달
+        String nextCursor = null;
+        if (reviewOrder && productList.size() == PAGE_SIZE) {
+            ProductCommonDto.ProductSearchListDto lastProduct = productList.get(PAGE_SIZE - 1);
+            nextCursor = CursorDto.of(lastProduct.getProductReviewCount(), lastProduct.getProductId()).encode();
+        }
+        return new ProductResDto.ProductSearchListResDto(getTotalPages(totalValues), productList, nextCursor);
+    }
 
-        Pageable pageable = PageRequest.of(pageNo, PAGE_SIZE);
-        int start = (int)pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()),totalValues);
-        Page<ProductCommonDto.ProductSearchListDto> productList = new PageImpl<>
-                (productSearchList.subList(start,end), pageable, totalValues);
-        productSearchList = new ArrayList<>();
+    // Elasticsearch 장애 시 DB 검색 (커서 없이 페이지 번호로 조회)
+    private ProductResDto.ProductSearchListResDto searchFromDatabase(int pageNo, String query, String sorter,
+                                                                     Integer minPrice, Integer maxPrice, Float star) {
+        String sortProperty = sorter.equals(REVIEW_COUNT_FIELD) ? "reviewCnt"
+                : sorter.equals("product_rating") ? "productRating" : "productCreatedDate";
+        Pageable pageable = PageRequest.of(pageNo, PAGE_SIZE, Sort.by(Sort.Direction.DESC, sortProperty));
+        Page<ProductResDto.ProductListResDto> products = productRepository.findByQuery(pageable, query, minPrice, maxPrice, star);
 
-        return new ProductResDto.ProductSearchListResDto(productList.getTotalPages(), productList.getContent());
+        List<ProductCommonDto.ProductSearchListDto> productList = products.getContent().stream()
+                .map(p -> new ProductCommonDto.ProductSearchListDto(p.getProductId(), p.getProductBrand(), p.getProductName(),
+                        p.getProductImg(), p.getProductSalePrice(), p.getProductDiscountRate(), p.getProductRating(),
+                        p.getProductReviewCount().intValue()))
+                .toList();
+        return new ProductResDto.ProductSearchListResDto(products.getTotalPages(), productList, null);
     }
 
-
-    public static void quickSort(int start, int end) {
-        // start가 end보다 크거나 같다면 정렬할 원소가 1개 이하이므로 정렬하지 않고 반환
-        if (start >= end)
-            return;
-
-        // 가장 왼쪽의 값을 pivot으로 지정하고 실제 비교 검사는 start+1 부터 시작
-        int pivot = start;
-        int lo = start + 1;
-        int hi = end; // 정렬의 마지막 값 지정
-        ProductCommonDto.ProductSearchListDto temp;
-
-        // lo는 현재 부분배열의 왼쪽, hi는 오른쪽을 의미
-        // lo가 hi보다 커질 경우 while문 종료
-        while (lo <= hi) {
-            // lo번째 간선의 비용이 pivot번째 간선의 비용보다 큰 값일 때까지 반복
-            while (lo <= end && productSearchList.get(lo).getProductReviewCount() >= productSearchList.get(pivot).getProductReviewCount())
-                lo++;
-            // hi번째 간선의 비용이 pivot번째 간선의 비용보다 작은 값일 때까지 반복
-            while (hi > start && productSearchList.get(hi).getProductReviewCount() <= productSearchList.get(pivot).getProductReviewCount())
-                hi--;
-            // 엇갈리면 hi간선과 피벗 index의 간선 교체
-            if (lo > hi) {
-                temp = productSearchList.get(hi);
-                productSearchList.set(hi, productSearchList.get(pivot));
-                productSearchList.set(pivot, temp);
-            }
-            // 엇갈리지 않으면 lo와 hi 간선 교체
-            else {
-                temp = productSearchList.get(lo);
-                productSearchList.set(lo, productSearchList.get(hi));
-                productSearchList.set(hi, temp);
-            }
+    // review_count 필드 준비
+    // - review_count 없이 색인되는 문서는 review_enriched 크기로 review_count 를 계산하는 ingest pipeline 을 기본 pipeline 으로 지정
+    // - review_count 가 없는 기존 문서는 update_by_query 로 백그라운드에서 채움
+    @EventListener(ApplicationReadyEvent.class)
+    public void initReviewCountField() {
+        try {
+            client.ingest().putPipeline(p -> p
+                    .id(REVIEW_COUNT_PIPELINE)
+                    .description("review_enriched 크기로 review_count 계산")
+                    .processors(pr -> pr.script(sc -> sc
+                            .lang("painless")
+                            .source("if (ctx." + REVIEW_COUNT_FIELD + " == null) { def r = ctx.review_enriched; " +
+                                    "ctx." + REVIEW_COUNT_FIELD + " = r == null ? 0 : (r instanceof List ? r.size() : 1); }"))));
+            client.indices().putMapping(m -> m
+                    .index(INDEX_NAME)
+                    .properties(REVIEW_COUNT_FIELD, pr -> pr.integer(i -> i)));
+            client.indices().putSettings(st -> st
+                    .index(INDEX_NAME)
+                    .settings(is -> is.defaultPipeline(REVIEW_COUNT_PIPELINE)));
+            client.updateByQuery(u -> u
+                    .index(INDEX_NAME)
+                    .pipeline(REVIEW_COUNT_PIPELINE)
+                    .conflicts(Conflicts.Proceed)
+                    .waitForCompletion(false)
+                    .query(q -> q.bool(b -> b.mustNot(mn -> mn.exists(e -> e.field(REVIEW_COUNT_FIELD))))));
+            log.info("review_count 필드 준비 완료");
+        } catch (IOException | ElasticsearchException e) {
+            log.warn("[ElasticsearchService] review_count 필드 준비 실패", e);
         }
-
-        // 엇갈렸을 경우, 피벗값과 hi값을 교체한 후 해당 피벗을 기준으로 앞 뒤로 배열을 분할하여 정렬 반복 진행
-        quickSort(start, hi - 1);
-        quickSort(hi + 1, end);
     }
 
     public int getTotalPages(int totalValues){
@@ -234,12 +281,20 @@ public class ElasticsearchService {
             productList.add(new ProductCommonDto.ProductSearchListDto(
                     hit.source().getProduct_id(),
                     hit.source().getProduct_brand(),hit.source().getProduct_name(),
-                    hit.source().getImgs_enriched().getImg_address(),
+                    hit.source().getImgs_enriched() == null ? null : hit.source().getImgs_enriched().getImg_address(),
                     hit.source().getProduct_sale_price(),
                     hit.source().getProduct_discount_rate(),
                     hit.source().getProduct_rating(),
-                    hit.source().getReview_enriched()==null ? 0 : hit.source().getReview_enriched().size()));
+                    reviewCountOf(hit.source())));
         }
         return productList;
     }
+
+    // 인덱스의 review_count 우선, 아직 채워지지 않은 문서는 review_enriched 크기 사용
+    private int reviewCountOf(ProductDocument document) {
+        if (document.getReview_count() != null) {
+            return document.getReview_count();
+        }
+        return document.getReview_enriched() == null ? 0 : document.getReview_enriched().size();
+    }
 }
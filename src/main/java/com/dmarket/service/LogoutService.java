@@ -1,8 +1,10 @@
 package com.dmarket.service;
 
-import com.dmarket.domain.user.RefreshToken;
+import com.dmarket.jwt.AccessTokenDenylist;
 import com.dmarket.jwt.JWTUtil;
-import com.dmarket.repository.user.RefreshTokenRepository;
+import com.dmarket.jwt.JwtClaims;
+import com.dmarket.repository.user.RefreshTokenStore;
+import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -11,8 +13,6 @@ import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -21,17 +21,23 @@ public class LogoutService implements LogoutHandler {
 
     private final JWTUtil jwtUtil;
 
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+
+    private final AccessTokenDenylist accessTokenDenylist;
 
     @Override
     public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
         String authorization = request.getHeader("Authorization");
         String token = authorization.split(" ")[1];
 
-        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByAccessToken(token);
-        if (refreshToken.isPresent()) {
-            refreshTokenRepository.deleteById(refreshToken.get().getRefreshToken());
-        } else {
+        // access 토큰은 남은 유효 시간 동안 차단 (이미 만료된 토큰은 차단할 필요 없음)
+        try {
+            JwtClaims claims = jwtUtil.parseClaims(token);
+            accessTokenDenylist.revoke(claims.getJti(), claims.getExpiresAt());
+        } catch (ExpiredJwtException ignored) {
+        }
+
+        if (!refreshTokenStore.revokeByAccessToken(token)) {
             System.out.println("사용자 정보 오류");
         }
     }
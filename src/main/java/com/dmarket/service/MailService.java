@@ -1,5 +1,6 @@
 package com.dmarket.service;
 
+import com.dmarket.config.DownstreamLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -8,8 +9,8 @@ import java.nio.charset.StandardCharsets;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -17,12 +18,14 @@ import jakarta.mail.internet.MimeMessage;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class MailService {
 
     private final JavaMailSender mailSender;
+    private final DownstreamLimiter downstreamLimiter;
 
-    @Transactional
+    // @Async 실행기에서 발송 (요청 스레드는 SMTP 연결이나 동시 발송 한도를 기다리지 않음)
+    // 실패는 호출한 쪽에 전달되지 않으므로 여기서 기록
+    @Async
     public void sendEmail(String toEmail, String title, String text) {
 
         try {
@@ -53,10 +56,9 @@ public class MailService {
             helper.setText(htmlMsg, true);
             helper.setSubject(title);
 
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            log.warn("MailService.sendEmail exception occur toEmail: {}, title: {}, text: {}", toEmail, title, text);
-            throw new RuntimeException(e.getMessage(), e.getCause());
+            downstreamLimiter.run(DownstreamLimiter.Downstream.SMTP, () -> mailSender.send(message));
+        } catch (MessagingException | RuntimeException e) {
+            log.warn("MailService.sendEmail exception occur toEmail: {}, title: {}", toEmail, title, e);
         }
     }
 
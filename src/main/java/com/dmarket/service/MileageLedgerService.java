@@ -0,0 +1,57 @@
+package com.dmarket.service;
+
+import com.dmarket.constant.MileageContents;
+import com.dmarket.domain.user.Mileage;
+import com.dmarket.exception.NotFoundException;
+import com.dmarket.repository.user.MileageRepository;
+import com.dmarket.repository.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.dmarket.exception.ErrorCode.USER_NOT_FOUND;
+
+/**
+ * 마일리지 증감 + 사용 내역 기록
+ * - 잔액 확인과 차감을 조건부 UPDATE 한 문장으로 처리해 동시 결제에서도 잔액이 음수가 되지 않음 (행 잠금 조회 불필요)
+ * - 변경 후 잔액은 UPDATE 로 잠긴 행을 같은 트랜잭션에서 다시 읽어 내역에 기록
+ * - 영속성 컨텍스트의 User 엔티티는 갱신되지 않으므로 호출 후 해당 엔티티의 마일리지를 사용하지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class MileageLedgerService {
+
+    private final UserRepository userRepository;
+    private final MileageRepository mileageRepository;
+
+    // 차감 후 잔액 반환, 잔액이 부족하면 IllegalStateException
+    public Integer debit(Long userId, Integer amount, MileageContents mileageInfo) {
+        if (userRepository.debitMileage(userId, amount) == 0) {
+            if (!userRepository.existsById(userId)) {
+                throw new NotFoundException(USER_NOT_FOUND);
+            }
+            throw new IllegalStateException("마일리지 잔액이 부족합니다.");
+        }
+        return record(userId, -amount, mileageInfo);
+    }
+
+    // 적립 후 잔액 반환
+    public Integer credit(Long userId, Integer amount, MileageContents mileageInfo) {
+        if (userRepository.creditMileage(userId, amount) == 0) {
+            throw new NotFoundException(USER_NOT_FOUND);
+        }
+        return record(userId, amount, mileageInfo);
+    }
+
+    private Integer record(Long userId, Integer changeMileage, MileageContents mileageInfo) {
+        Integer remainMileage = userRepository.findMileageByUserId(userId);
+        mileageRepository.save(Mileage.builder()
+                .userId(userId)
+                .remainMileage(remainMileage)
+                .changeMileage(changeMileage)
+                .mileageInfo(mileageInfo)
+                .build());
+        return remainMileage;
+    }
+}
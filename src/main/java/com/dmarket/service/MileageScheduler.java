@@ -1,39 +1,212 @@
 package com.dmarket.service;
 
-import com.dmarket.domain.user.Mileage;
 import com.dmarket.repository.user.MileageRepository;
 import com.dmarket.repository.user.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 연초 마일리지 초기화 + 자동 충전 기록
+ * - 사용자 번호 구간(chunk-size 명)마다 UPDATE 한 번, INSERT ... SELECT 한 번을 한 트랜잭션으로 처리
+ * - 시작 전에 checkpoint 0 을 남기고 구간마다 마지막 사용자 번호를 Redis 에 기록
+ * - 미완료 checkpoint 는 서버 시작 시와 주기적으로 확인해 이어서 처리 (서버 종료, DB 오류 후 재개)
+ * - 락은 토큰으로 잡고 구간마다 짧은 TTL 을 연장, 해제는 자기 토큰일 때만 (죽은 서버의 락은 TTL 후 만료)
+ * - 올해 자동 충전 기록이 있는 사용자는 건너뛰므로 같은 구간을 다시 처리해도 한 번만 적용
+ * - 서버 시작과 스케줄러 스레드를 붙잡지 않도록 전용 스레드에서 실행
+ * - 지표: mileage.reset.processed (처리한 사용자 수), mileage.reset.duration
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MileageScheduler {
     private final UserRepository userRepository;
     private final MileageRepository mileageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
     private static final Integer INIT_MIEAGE = 1200000;
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private static final String CHECKPOINT_KEY_PREFIX = "mileage:reset:checkpoint:";
+    private static final String DONE = "done";
+    private static final String LOCK_KEY = "mileage:reset:lock";
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(30);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    // 자기 토큰일 때만 연장, 삭제
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 0", Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    @Value("${mileage.reset.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${mileage.reset.lock-ttl-millis:60000}")
+    private long lockTtlMillis;
+
+    private final AtomicLong processed = new AtomicLong();
+    private Timer durationTimer;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "mileage-reset"));
+    private volatile boolean stopping = false;
+    // 실행 대기 또는 실행 중인 작업이 있으면 주기 확인이 큐에 쌓이지 않도록 건너뜀
+    private final AtomicBoolean submitted = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("mileage.reset.processed", processed, AtomicLong::get)
+                .description("이번 초기화에서 처리한 사용자 수")
+                .register(meterRegistry);
+        durationTimer = Timer.builder("mileage.reset.duration")
+                .description("마일리지 초기화 소요 시간")
+                .register(meterRegistry);
+    }
 
-    @Transactional
     @Scheduled(cron = "0 0 0 1 1 ?", zone = "Asia/Seoul")
     public void mileageAutoCharge() {
-        // 마일리지 초기화
-        userRepository.resetUserMileage(INIT_MIEAGE);
+        int year = LocalDateTime.now(ZONE).getYear();
+        // 실행 전에 죽어도 재개되도록 checkpoint 0 부터 남김 (이미 진행, 완료된 기록은 유지)
+        try {
+            redisTemplate.opsForValue().setIfAbsent(CHECKPOINT_KEY_PREFIX + year, "0", CHECKPOINT_TTL);
+        } catch (RuntimeException e) {
+            log.warn("{}년 마일리지 초기화 checkpoint 기록 실패", year, e);
+        }
+        submit(year);
+    }
 
-        // 사용자 번호 조회
-        List<Long> users = userRepository.findAllUserId();
+    // 중단된 올해 초기화 재개 (서버 시작 시, 이후 주기적으로 확인)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${mileage.reset.resume-interval-millis:300000}",
+            initialDelayString = "${mileage.reset.resume-interval-millis:300000}")
+    public void resume() {
+        int year = LocalDateTime.now(ZONE).getYear();
+        Object checkpoint = redisTemplate.opsForValue().get(CHECKPOINT_KEY_PREFIX + year);
+        if (checkpoint != null && !DONE.equals(checkpoint.toString())) {
+            log.info("{}년 마일리지 초기화 재개 (사용자 번호 {} 이후)", year, checkpoint);
+            submit(year);
+        }
+    }
 
-        // 마일리지 사용 내역에 자동충전 기록 추가
-        for (Long user : users){
-            Mileage mileage = Mileage.mileageAutoCharge(user);
-            mileageRepository.save(mileage);
+    // 종료 시 새 chunk 를 시작하지 않고 처리 중인 chunk 만 기다림 (남은 구간은 재개 확인 때 checkpoint 부터 처리)
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void submit(int year) {
+        if (stopping || !submitted.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                runLogged(year);
+            } finally {
+                submitted.set(false);
+            }
+        });
+    }
+
+    private void runLogged(int year) {
+        try {
+            run(year);
+        } catch (RuntimeException e) {
+            log.error("{}년 마일리지 초기화 실패 (다음 확인 때 checkpoint 부터 재개)", year, e);
         }
+    }
+
+    private void run(int year) {
+        // 한 서버에서만 실행 (락은 chunk 마다 연장)
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, Duration.ofMillis(lockTtlMillis));
+        if (!Boolean.TRUE.equals(acquired)) {
+            return;
+        }
+        String checkpointKey = CHECKPOINT_KEY_PREFIX + year;
+        try {
+            Object checkpoint = redisTemplate.opsForValue().get(checkpointKey);
+            if (checkpoint != null && DONE.equals(checkpoint.toString())) {
+                return;
+            }
+            long lastUserId = checkpoint == null ? 0L : Long.parseLong(checkpoint.toString());
+            if (checkpoint == null) {
+                redisTemplate.opsForValue().set(checkpointKey, "0", CHECKPOINT_TTL);
+            }
+            LocalDateTime since = LocalDateTime.of(year, 1, 1, 0, 0);
+            LocalDateTime chargeDate = LocalDateTime.now(ZONE).truncatedTo(ChronoUnit.MICROS);
+            processed.set(0);
+            long start = System.nanoTime();
+
+            while (!stopping) {
+                List<Long> userIds = userRepository.findUserIdsAfter(lastUserId, PageRequest.of(0, chunkSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                long fromId = lastUserId;
+                long toId = userIds.get(userIds.size() - 1);
+                Integer charged = transactionTemplate.execute(status -> {
+                    userRepository.resetUserMileageBetween(INIT_MIEAGE, fromId, toId, since);
+                    return mileageRepository.insertAutoChargeBetween(INIT_MIEAGE, fromId, toId, since, chargeDate);
+                });
+                lastUserId = toId;
+                processed.addAndGet(userIds.size());
+                redisTemplate.opsForValue().set(checkpointKey, String.valueOf(lastUserId), CHECKPOINT_TTL);
+                log.info("마일리지 초기화 진행: 사용자 번호 {} 까지 {}명 (이번 구간 충전 {}건)", lastUserId, processed.get(), charged);
+                if (!renewLock(token)) {
+                    // 구간 처리가 TTL 보다 길어 락을 잃음, 다른 서버가 checkpoint 부터 이어서 처리
+                    log.warn("마일리지 초기화 락 만료: 사용자 번호 {} 까지 처리 후 중단", lastUserId);
+                    return;
+                }
+            }
+
+            if (stopping) {
+                log.info("마일리지 초기화 중단: 사용자 번호 {} 까지 처리", lastUserId);
+                return;
+            }
+            redisTemplate.opsForValue().set(checkpointKey, DONE, CHECKPOINT_TTL);
+            long elapsed = System.nanoTime() - start;
+            durationTimer.record(Duration.ofNanos(elapsed));
+            log.info("마일리지 초기화 완료: {}명, {}ms", processed.get(), Duration.ofNanos(elapsed).toMillis());
+        } finally {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_KEY), token);
+        }
+    }
 
-        log.info("마일리지 초기화");
+    private boolean renewLock(String token) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(LOCK_KEY), token, String.valueOf(lockTtlMillis));
+        return renewed != null && renewed == 1L;
     }
 }
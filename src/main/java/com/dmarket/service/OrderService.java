@@ -5,17 +5,20 @@ import com.dmarket.constant.OrderDetailState;
 import com.dmarket.domain.order.Order;
 import com.dmarket.domain.order.OrderDetail;
 import com.dmarket.domain.product.Product;
+import com.dmarket.domain.product.ProductImgs;
 import com.dmarket.domain.product.ProductOption;
-import com.dmarket.domain.user.Cart;
 import com.dmarket.domain.user.User;
 import com.dmarket.dto.request.OrderReqDto;
 import com.dmarket.dto.request.ProductReqDto;
 import com.dmarket.dto.response.OrderResDto;
 import com.dmarket.dto.response.ProductResDto;
+import com.dmarket.exception.NotFoundException;
 import com.dmarket.jwt.JWTUtil;
 import com.dmarket.repository.order.OrderDetailRepository;
 import com.dmarket.repository.order.OrderRepository;
 import com.dmarket.repository.product.ProductImgsRepository;
+import com.dmarket.repository.product.ProductOptionRepository;
+import com.dmarket.repository.product.ProductRepository;
 import com.dmarket.repository.user.CartRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,8 +28,14 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.dmarket.exception.ErrorCode.PRODUCT_NOT_FOUND;
 
 @Slf4j
 @Service
@@ -38,15 +47,19 @@ public class OrderService {
 
     private final UserService userService;
     private final ProductService productService;
+    private final StockReservationService stockReservationService;
+    private final MileageLedgerService mileageLedgerService;
 
     private final CartRepository cartRepository;
     private final OrderRepository orderRepository;
     private final OrderDetailRepository orderDetailRepository;
+    private final ProductRepository productRepository;
+    private final ProductOptionRepository productOptionRepository;
     private final ProductImgsRepository productImgsRepository;
 
     private final JWTUtil jwtUtil;
 
-    // 결제할 상품 조회
+    // 결제할 상품 조회 (상품, 옵션, 대표 이미지를 IN 쿼리로 한 번씩 조회 후 메모리에서 조합)
     public ProductResDto.ProductToOrderRespDto getProductToOrder(ProductReqDto.ProductToOrderReqDto dto) {
 
         Integer totalPrice = 0;
@@ -55,21 +68,38 @@ public class OrderService {
         ArrayList<ProductResDto.ProductToOrderRespDto.ProductToOrder> productList = new ArrayList<>();
         List<ProductReqDto.ProductToOrderReqDto.ProductToOrder> products = dto.getProductList();
 
+        List<Long> productIds = products.stream().map(ProductReqDto.ProductToOrderReqDto.ProductToOrder::getProductId).distinct().toList();
+        List<Long> optionIds = products.stream().map(ProductReqDto.ProductToOrderReqDto.ProductToOrder::getOptionId).distinct().toList();
+
+        Map<Long, Product> productMap = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        Map<Long, ProductOption> optionMap = productOptionRepository.findAllById(optionIds).stream()
+                .collect(Collectors.toMap(ProductOption::getOptionId, Function.identity()));
+        Map<Long, String> imgMap = productImgsRepository.findFirstImgsByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductImgs::getProductId, ProductImgs::getImgAddress));
+
         for (ProductReqDto.ProductToOrderReqDto.ProductToOrder productToOrder : products) {
 
             Long productId = productToOrder.getProductId();
             Integer productCount = productToOrder.getProductCount();
             Long optionId = productToOrder.getOptionId();
-            Product product = productService.findProductById(productId);
+            Product product = productMap.get(productId);
+            if (product == null) {
+                throw new NotFoundException(PRODUCT_NOT_FOUND);
+            }
+            ProductOption option = optionMap.get(optionId);
+            if (option == null) {
+                throw new IllegalArgumentException("존재하지 않는 옵션입니다.");
+            }
 
             ProductResDto.ProductToOrderRespDto.ProductToOrder productDetail = new ProductResDto.ProductToOrderRespDto.ProductToOrder();
             productDetail.setProductId(productId);
             productDetail.setProductBrand(product.getProductBrand());
             productDetail.setProductName(product.getProductName());
             productDetail.setOptionId(optionId);
-            productDetail.setProductOption(productService.findOptionByOptionId(optionId).getOptionValue());
+            productDetail.setProductOption(option.getOptionValue());
             productDetail.setProductCount(productCount);
-            productDetail.setProductImg(productImgsRepository.findFirstByProductId(productId).getImgAddress());
+            productDetail.setProductImg(imgMap.get(productId));
             productDetail.setProductTotalPrice(product.getProductPrice() * productCount);
             productDetail.setProductTotalSalePrice(product.getProductSalePrice() * productCount);
 
@@ -107,43 +137,35 @@ public class OrderService {
          * bizLogic
          */
 
-        //잔액과 비교하여 결제 가능한지 확인
-        User user = userService.findUserById(userId);
-        Integer userMileage = user.getUserMileage();
-        if (orderTotalPay > userMileage) {
-            throw new IllegalStateException("마일리지 잔액이 부족합니다.");
-        }
-
-        //결제 가능하면 결제 (마일리지 차감)
-        user.updateMileage(-orderTotalPay);
+        //잔액이 충분할 때만 차감 (조건부 UPDATE 한 번), 마일리지 사용 내역 추가
+        mileageLedgerService.debit(userId, orderTotalPay, MileageContents.PURCHASE);
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
-        //마일리지 사용 내역 추가
-        userService.addMileageHistory(userId, userMileage - orderTotalPay, -orderTotalPay, MileageContents.PURCHASE);
-
         //Order 생성
         Long orderId = createOrder(userId, orderTotalPrice, orderTotalPay, now);
 
-        //OrderDetail 생성
-        for (OrderReqDto.OrderPaymentReqDto.OrderDetail orderDetail : productList) {
-            //주문 상세 데이터 추출
-            Long productId = orderDetail.getProductId();
-            Long optionId = orderDetail.getOptionId();
-            Integer orderDetailCount = orderDetail.getOrderDetailCount();
-            Integer orderDetailPrice = orderDetail.getOrderDetailPrice();
-            Integer orderDetailSalePrice = orderDetail.getOrderDetailSalePrice();
-
-            createOrderDetail(orderId, optionId, productId, orderDetailCount, orderDetailPrice, orderDetailSalePrice);
-
-            //장바구니에서 주문한 상품 제거
-            Optional<Cart> cartOptional = cartRepository.findByUserIdAndOptionId(userId, optionId);
-            if (cartOptional.isPresent()) {
-                Cart cart = cartOptional.get();
-                Long cartId = cart.getCartId();
-                userService.deleteCartByCartId(cartId);
-                log.debug("[OrderService] 장바구니에서 주문한 상품 삭제: userId={}, cartId={}, optionId={}", userId, cartId, optionId);
-            }
-        }
+        //OrderDetail 생성 (옵션별 재고 일괄 예약 후 한 번에 저장)
+        Map<Long, Integer> countsByOptionId = Arrays.stream(productList)
+                .collect(Collectors.toMap(OrderReqDto.OrderPaymentReqDto.OrderDetail::getOptionId,
+                        OrderReqDto.OrderPaymentReqDto.OrderDetail::getOrderDetailCount, Integer::sum, LinkedHashMap::new));
+        stockReservationService.reserveAll(countsByOptionId);
+
+        List<OrderDetail> orderDetails = Arrays.stream(productList)
+                .map(orderDetail -> OrderDetail.builder()
+                        .orderId(orderId)
+                        .optionId(orderDetail.getOptionId())
+                        .productId(orderDetail.getProductId())
+                        .orderDetailState(OrderDetailState.ORDER_COMPLETE)
+                        .orderDetailCount(orderDetail.getOrderDetailCount())
+                        .orderDetailPrice(orderDetail.getOrderDetailPrice())
+                        .orderDetailSalePrice(orderDetail.getOrderDetailSalePrice())
+                        .build())
+                .toList();
+        orderDetailRepository.saveAll(orderDetails);
+
+        //장바구니에서 주문한 상품 일괄 제거
+        int deletedCartCount = cartRepository.deleteByUserIdAndOptionIdIn(userId, new ArrayList<>(countsByOptionId.keySet()));
+        log.debug("[OrderService] 장바구니에서 주문한 상품 삭제: userId={}, count={}", userId, deletedCartCount);
 
         //반환
         OrderResDto<String> resDto = new OrderResDto<>();
@@ -163,19 +185,4 @@ public class OrderService {
                 .build();
         return orderRepository.save(order).getOrderId();
     }
-
-    @Transactional
-    public Long createOrderDetail(Long orderId, Long optionId, Long productId, Integer orderDetailCount, Integer orderDetailPrice, Integer orderDetailSalePrice) {
-        OrderDetail orderDetail = OrderDetail.builder()
-                .orderId(orderId)
-                .optionId(optionId)
-                .productId(productId)
-                .orderDetailState(OrderDetailState.ORDER_COMPLETE)
-                .orderDetailCount(orderDetailCount)
-                .orderDetailPrice(orderDetailPrice)
-                .orderDetailSalePrice(orderDetailSalePrice).build();
-        ProductOption option = productService.findOptionByOptionId(optionId);
-        option.removeOptionQuantity(orderDetailCount);
-        return orderDetailRepository.save(orderDetail).getOrderDetailId();
-    }
 }
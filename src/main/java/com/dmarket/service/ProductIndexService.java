@@ -0,0 +1,252 @@
+package com.dmarket.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.dmarket.domain.document.ImgDocument;
+import com.dmarket.domain.document.ProductDocument;
+import com.dmarket.domain.product.Product;
+import com.dmarket.domain.product.ProductImgs;
+import com.dmarket.domain.product.ProductIndexOutbox;
+import com.dmarket.domain.product.ProductListing;
+import com.dmarket.elastic.ESUtil;
+import com.dmarket.repository.product.ProductImgsRepository;
+import com.dmarket.repository.product.ProductIndexOutboxRepository;
+import com.dmarket.repository.product.ProductListingRepository;
+import com.dmarket.repository.product.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 검색 인덱스 증분 색인 (outbox)
+ * - 상품, 이미지, 옵션, 리뷰 변경 시 같은 트랜잭션에서 product_index_outbox 에 상품 id 기록
+ * - 백그라운드 작업이 오래된 기록부터 batch-size 만큼 읽어 DB 의 최신 상태로 문서를 만들고 _bulk 로 색인
+ * - 색인에 성공한 기록만 삭제하고, 실패하면 지수 백오프 후 재시도 (ES 가 429 로 거절할 때도 백오프로 속도 조절)
+ * - 여러 서버 중 Redis 락을 얻은 한 서버만 처리
+ * - 전체 재색인(ProductReindexService) 중에는 새 버전 인덱스에도 같은 변경을 기록
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductIndexService {
+
+    private final ProductIndexOutboxRepository productIndexOutboxRepository;
+    private final ProductRepository productRepository;
+    private final ProductImgsRepository productImgsRepository;
+    private final ProductListingRepository productListingRepository;
+    private final ElasticsearchClient client;
+    private final SearchCacheService searchCacheService;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${search.indexer.batch-size:500}")
+    private int batchSize;
+    @Value("${search.indexer.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+    @Value("${search.indexer.max-backoff-millis:60000}")
+    private long maxBackoffMillis;
+    @Value("${search.indexer.lock-ttl-millis:30000}")
+    private long lockTtlMillis;
+
+    private static final String LOCK_KEY = "search:indexer:lock";
+    private static final String REINDEX_TARGET_KEY = "search:reindex:target";
+    private static final long BASE_BACKOFF_MILLIS = 1000;
+
+    // 스케줄러 스레드에서만 사용
+    private int consecutiveFailures = 0;
+    private long retryAt = 0;
+
+    // 상품 변경 기록 (호출하는 쪽 트랜잭션에 포함되어 변경과 함께 커밋)
+    public void enqueue(Long productId) {
+        productIndexOutboxRepository.save(new ProductIndexOutbox(productId));
+    }
+
+    // 쌓인 변경을 색인
+    @Scheduled(fixedDelayString = "${search.indexer.interval-millis:1000}")
+    public void drain() {
+        if (System.currentTimeMillis() < retryAt) {
+            return;
+        }
+        String lockToken = acquireLock();
+        if (lockToken == null) {
+            return;
+        }
+
+        try {
+            int indexed = 0;
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                List<ProductIndexOutbox> batch = productIndexOutboxRepository.findOldest(PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (!indexBatch(batch)) {
+                    backoff();
+                    return;
+                }
+                indexed += batch.size();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            consecutiveFailures = 0;
+            if (indexed > 0) {
+                // 색인 전에 캐시된 검색 결과 무효화
+                searchCacheService.bumpGeneration();
+                log.debug("[ProductIndexService] 상품 색인 완료: {}건", indexed);
+            }
+        } catch (IOException | RuntimeException e) {
+            // ES 오류뿐 아니라 outbox, 상품 조회 중 DB 오류도 백오프 후 재시도
+            log.warn("[ProductIndexService] 상품 색인 실패", e);
+            backoff();
+        } finally {
+            releaseLock(lockToken);
+        }
+    }
+
+    // 한 batch 색인, 모든 상품이 반영되면 true (반영된 상품의 기록만 삭제)
+    private boolean indexBatch(List<ProductIndexOutbox> batch) throws IOException {
+        List<Long> productIds = batch.stream().map(ProductIndexOutbox::getProductId).distinct().toList();
+        BulkResponse response = client.bulk(bulkRequest(productIds));
+
+        Set<Long> failedProductIds = new HashSet<>();
+        if (response.errors()) {
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() != null) {
+                    failedProductIds.add(Long.valueOf(item.id()));
+                    log.warn("[ProductIndexService] 상품 색인 실패: productId={}, status={}, reason={}",
+                            item.id(), item.status(), item.error().reason());
+                }
+            }
+        }
+
+        List<Long> doneOutboxIds = batch.stream()
+                .filter(outbox -> !failedProductIds.contains(outbox.getProductId()))
+                .map(ProductIndexOutbox::getOutboxId)
+                .toList();
+        if (!doneOutboxIds.isEmpty()) {
+            productIndexOutboxRepository.deleteAllByIdInBatch(doneOutboxIds);
+        }
+        return failedProductIds.isEmpty();
+    }
+
+    // DB 에 없는 상품은 문서 삭제, 나머지는 최신 상태로 덮어쓰기 (재색인 중이면 새 인덱스에도 기록)
+    private BulkRequest bulkRequest(List<Long> productIds) {
+        Map<Long, ProductDocument> documents = toDocuments(productRepository.findAllById(productIds)).stream()
+                .collect(Collectors.toMap(ProductDocument::getProduct_id, Function.identity()));
+        String reindexTarget = reindexTarget();
+        List<String> indices = reindexTarget == null
+                ? List.of(ESUtil.PRODUCT_INDEX)
+                : List.of(ESUtil.PRODUCT_INDEX, reindexTarget);
+
+        BulkRequest.Builder bulk = new BulkRequest.Builder();
+        for (Long productId : productIds) {
+            ProductDocument document = documents.get(productId);
+            for (String index : indices) {
+                if (document == null) {
+                    bulk.operations(op -> op.delete(d -> d.index(index).id(String.valueOf(productId))));
+                } else {
+                    bulk.operations(op -> op.index(idx -> idx
+                            .index(index)
+                            .id(String.valueOf(productId))
+                            .document(document)));
+                }
+            }
+        }
+        return bulk.build();
+    }
+
+    // 상품의 대표 이미지, 리뷰 수를 함께 조회해 검색 문서 생성
+    public List<ProductDocument> toDocuments(List<Product> products) {
+        List<Long> productIds = products.stream().map(Product::getProductId).toList();
+        Map<Long, ProductImgs> imgs = productImgsRepository.findFirstImgsByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductImgs::getProductId, Function.identity()));
+        Map<Long, ProductListing> listings = productListingRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductListing::getProductId, Function.identity()));
+
+        return products.stream()
+                .map(product -> toDocument(product, imgs.get(product.getProductId()), listings.get(product.getProductId())))
+                .toList();
+    }
+
+    private static ProductDocument toDocument(Product product, ProductImgs img, ProductListing listing) {
+        return ProductDocument.builder()
+                .product_id(product.getProductId())
+                .category_id(product.getCategoryId())
+                .product_brand(product.getProductBrand())
+                .product_name(product.getProductName())
+                .product_price(product.getProductPrice())
+                .product_sale_price(product.getProductSalePrice())
+                .product_description(product.getProductDescription())
+                .product_discount_rate(product.getProductDiscountRate())
+                .product_rating(product.getProductRating())
+                .product_created_date(product.getProductCreatedDate() == null ? null : Timestamp.valueOf(product.getProductCreatedDate()))
+                .imgs_enriched(img == null ? null : new ImgDocument(img.getImgId(), img.getImgAddress(), img.getProductId()))
+                .review_count(listing == null ? 0 : listing.getReviewCnt().intValue())
+                .build();
+    }
+
+    // 재색인 동안 변경된 상품을 새 인덱스에도 기록 (ProductReindexService 가 시작, 완료 시 설정)
+    public void startDualWrite(String targetIndex) {
+        redisTemplate.opsForValue().set(REINDEX_TARGET_KEY, targetIndex);
+    }
+
+    public void stopDualWrite() {
+        redisTemplate.delete(REINDEX_TARGET_KEY);
+    }
+
+    private String reindexTarget() {
+        try {
+            Object target = redisTemplate.opsForValue().get(REINDEX_TARGET_KEY);
+            return target == null ? null : target.toString();
+        } catch (RuntimeException e) {
+            log.warn("[ProductIndexService] 재색인 대상 인덱스 조회 실패", e);
+            return null;
+        }
+    }
+
+    private void backoff() {
+        consecutiveFailures++;
+        long delay = Math.min(BASE_BACKOFF_MILLIS << Math.min(consecutiveFailures - 1, 16), maxBackoffMillis);
+        retryAt = System.currentTimeMillis() + delay;
+        log.warn("[ProductIndexService] {}ms 후 색인 재시도 (연속 실패 {}회)", delay, consecutiveFailures);
+    }
+
+    // 락을 얻으면 토큰 반환, 다른 서버가 처리 중이거나 Redis 장애로 확인할 수 없으면 null
+    // (락 없이 여러 서버가 처리하면 같은 상품의 이전 스냅샷 문서가 나중에 색인될 수 있음)
+    private String acquireLock() {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, Duration.ofMillis(lockTtlMillis));
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException e) {
+            log.warn("[ProductIndexService] 색인 락 획득 실패, 이번 주기 건너뜀", e);
+            return null;
+        }
+    }
+
+    private void releaseLock(String token) {
+        try {
+            if (token.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[ProductIndexService] 색인 락 해제 실패", e);
+        }
+    }
+}
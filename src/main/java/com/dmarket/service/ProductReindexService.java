@@ -0,0 +1,398 @@
+package com.dmarket.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import com.dmarket.domain.document.ProductDocument;
+import com.dmarket.domain.product.Product;
+import com.dmarket.dto.response.AdminResDto;
+import com.dmarket.elastic.ESUtil;
+import com.dmarket.exception.ConflictException;
+import com.dmarket.repository.product.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.dmarket.exception.ErrorCode.REINDEX_IN_PROGRESS;
+
+/**
+ * 상품 검색 인덱스 전체 재색인
+ * - 새 버전 인덱스(new-product-v{시각})를 만들어 DB 의 상품을 id 순 keyset 으로 읽어 적재한 뒤 new-product alias 를 한 번에 교체
+ * - 읽기는 한 스레드, 문서 생성과 _bulk 전송은 max-in-flight 개의 작업 스레드가 병렬로 처리 (동시 요청 수 제한)
+ * - 앞쪽 batch 가 모두 끝난 지점을 Redis 체크포인트로 저장해 서버가 중간에 죽어도 다시 시작하면 이어서 적재
+ * - 재색인 중 변경된 상품은 ProductIndexService 가 새 인덱스에도 기록하고, 재색인은 create 로만 적재해 더 최신 문서를 덮어쓰지 않음
+ * - 적재는 전용 스레드에서 실행하고 락은 진행 여부와 관계없이 주기적으로 연장, 서버 종료 시 중단 (체크포인트부터 다시 시작)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductReindexService {
+
+    private final ProductRepository productRepository;
+    private final ProductIndexService productIndexService;
+    private final ElasticsearchClient client;
+    private final SearchCacheService searchCacheService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${search.reindex.batch-size:1000}")
+    private int batchSize;
+    @Value("${search.reindex.max-in-flight:4}")
+    private int maxInFlight;
+    @Value("${search.reindex.max-retries:5}")
+    private int maxRetries;
+    // 적재가 끝난 뒤 새 인덱스에 적용할 설정 (적재 중에는 replica 0, refresh 중지)
+    @Value("${search.reindex.replicas:1}")
+    private String replicas;
+    @Value("${search.reindex.refresh-interval:1s}")
+    private String refreshInterval;
+
+    public static final String RUNNING = "RUNNING";
+    public static final String FAILED = "FAILED";
+    public static final String DONE = "DONE";
+
+    private static final String CHECKPOINT_KEY = "search:reindex:checkpoint";
+    private static final String LAST_RESULT_KEY = "search:reindex:last";
+    private static final String LOCK_KEY = "search:reindex:lock";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final long PROGRESS_LOG_MILLIS = 10_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final int VERSION_CONFLICT = 409;
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    // 자기 토큰일 때만 연장
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> new Thread(r, "product-reindex"));
+    private final ScheduledExecutorService lockRenewer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "product-reindex-lock");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 재색인 시작 (중단된 체크포인트가 있으면 이어서), 적재는 별도 스레드에서 진행
+    public AdminResDto.SearchReindexResDto start() throws IOException {
+        String lockToken = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockToken, LOCK_TTL))) {
+            throw new ConflictException(REINDEX_IN_PROGRESS);
+        }
+
+        try {
+            AdminResDto.SearchReindexResDto checkpoint = readState(CHECKPOINT_KEY);
+            if (checkpoint == null) {
+                checkpoint = new AdminResDto.SearchReindexResDto(createTargetIndex(), RUNNING, 0L, 0L, 0.0,
+                        LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), null);
+            } else {
+                log.info("[ProductReindexService] 재색인 이어서 진행: index={}, lastProductId={}",
+                        checkpoint.getTargetIndex(), checkpoint.getLastProductId());
+                checkpoint.setState(RUNNING);
+            }
+            saveState(CHECKPOINT_KEY, checkpoint);
+            productIndexService.startDualWrite(checkpoint.getTargetIndex());
+
+            AdminResDto.SearchReindexResDto started = checkpoint;
+            runner.execute(() -> run(started, lockToken));
+            return checkpoint;
+        } catch (IOException | RuntimeException e) {
+            releaseLock(lockToken);
+            throw e;
+        }
+    }
+
+    // 진행 중이거나 중단된 재색인, 없으면 마지막 재색인 결과
+    public AdminResDto.SearchReindexResDto getStatus() {
+        AdminResDto.SearchReindexResDto checkpoint = readState(CHECKPOINT_KEY);
+        return checkpoint != null ? checkpoint : readState(LAST_RESULT_KEY);
+    }
+
+    // 종료 시 적재를 중단하고 락 해제 (FAILED 체크포인트부터 다시 시작하면 이어서 적재)
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        runner.shutdownNow();
+        runner.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        lockRenewer.shutdownNow();
+    }
+
+    private void run(AdminResDto.SearchReindexResDto checkpoint, String lockToken) {
+        // 재시도 중인 batch 가 길어져 앞쪽 batch 가 진행되지 않아도 락이 만료되지 않도록 TTL 의 1/3 마다 연장
+        long renewMillis = LOCK_TTL.toMillis() / 3;
+        ScheduledFuture<?> renewal = lockRenewer.scheduleAtFixedRate(() -> renewLock(lockToken),
+                renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        try {
+            load(checkpoint, progress -> saveState(CHECKPOINT_KEY, progress));
+            swapAlias(checkpoint.getTargetIndex());
+
+            checkpoint.setState(DONE);
+            checkpoint.setFinishedDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+            saveState(LAST_RESULT_KEY, checkpoint);
+            redisTemplate.delete(CHECKPOINT_KEY);
+            productIndexService.stopDualWrite();
+            searchCacheService.bumpGeneration();
+        } catch (Exception e) {
+            log.error("[ProductReindexService] 재색인 실패: index={}, lastProductId={}",
+                    checkpoint.getTargetIndex(), checkpoint.getLastProductId(), e);
+            checkpoint.setState(FAILED);
+            saveState(CHECKPOINT_KEY, checkpoint);
+        } finally {
+            renewal.cancel(false);
+            releaseLock(lockToken);
+        }
+    }
+
+    /**
+     * checkpoint.lastProductId 다음 상품부터 끝까지 checkpoint.targetIndex 에 적재
+     * - batch 는 완료 순서가 섞일 수 있으므로 앞쪽 batch 가 모두 끝난 지점까지만 lastProductId 를 올리고 onProgress 호출
+     */
+    public void load(AdminResDto.SearchReindexResDto checkpoint,
+                     Consumer<AdminResDto.SearchReindexResDto> onProgress) throws InterruptedException {
+        String targetIndex = checkpoint.getTargetIndex();
+        ExecutorService workers = Executors.newFixedThreadPool(maxInFlight);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        // 끝나지 않은 batch 의 마지막 상품 id -> 상품 수, 먼저 끝난 뒤쪽 batch 의 마지막 상품 id
+        TreeMap<Long, Integer> pending = new TreeMap<>();
+        Set<Long> completed = new HashSet<>();
+
+        long startNanos = System.nanoTime();
+        long startCount = checkpoint.getIndexedCount();
+        long[] loggedAt = {System.currentTimeMillis()};
+
+        try {
+            long lastProductId = checkpoint.getLastProductId();
+            while (failure.get() == null) {
+                List<Product> products = productRepository.findAfterProductId(lastProductId, PageRequest.of(0, batchSize));
+                if (products.isEmpty()) {
+                    break;
+                }
+                long batchLastId = products.get(products.size() - 1).getProductId();
+                lastProductId = batchLastId;
+
+                inFlight.acquire();
+                synchronized (pending) {
+                    pending.put(batchLastId, products.size());
+                }
+                workers.execute(() -> {
+                    try {
+                        indexBatch(targetIndex, products);
+                        synchronized (pending) {
+                            completed.add(batchLastId);
+                            boolean advanced = false;
+                            while (!pending.isEmpty() && completed.remove(pending.firstKey())) {
+                                Map.Entry<Long, Integer> done = pending.pollFirstEntry();
+                                checkpoint.setLastProductId(done.getKey());
+                                checkpoint.setIndexedCount(checkpoint.getIndexedCount() + done.getValue());
+                                advanced = true;
+                            }
+                            if (advanced) {
+                                checkpoint.setDocsPerSecond(docsPerSecond(checkpoint.getIndexedCount() - startCount, startNanos));
+                                onProgress.accept(checkpoint);
+                                if (System.currentTimeMillis() - loggedAt[0] >= PROGRESS_LOG_MILLIS) {
+                                    loggedAt[0] = System.currentTimeMillis();
+                                    log.info("[ProductReindexService] 재색인 진행: index={}, indexed={}, lastProductId={}, {} docs/s",
+                                            targetIndex, checkpoint.getIndexedCount(), checkpoint.getLastProductId(),
+                                            String.format("%.0f", checkpoint.getDocsPerSecond()));
+                                }
+                            }
+                        }
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                if (products.size() < batchSize) {
+                    break;
+                }
+            }
+            // 전송 중인 batch 가 모두 끝날 때까지 대기
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("상품 재색인 적재 실패", failure.get());
+        }
+        log.info("[ProductReindexService] 재색인 적재 완료: index={}, indexed={}, {} docs/s",
+                targetIndex, checkpoint.getIndexedCount(), String.format("%.0f", checkpoint.getDocsPerSecond()));
+    }
+
+    // 한 batch 의 문서를 만들어 _bulk 전송, 실패한 문서만 백오프 후 재전송
+    // - 이미 있는 문서(409)는 재색인 중 변경되어 더 최신 상태로 기록된 문서이므로 성공으로 처리
+    private void indexBatch(String targetIndex, List<Product> products) throws IOException, InterruptedException {
+        List<BulkOperation> remaining = productIndexService.toDocuments(products).stream()
+                .map(document -> createOperation(targetIndex, document))
+                .toList();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<BulkOperation> operations = remaining;
+                BulkResponse response = client.bulk(b -> b.operations(operations));
+                Set<String> failedIds = response.items().stream()
+                        .filter(item -> item.error() != null && item.status() != VERSION_CONFLICT)
+                        .map(BulkResponseItem::id)
+                        .collect(Collectors.toSet());
+                if (failedIds.isEmpty()) {
+                    return;
+                }
+                remaining = remaining.stream()
+                        .filter(operation -> failedIds.contains(operation.create().id()))
+                        .toList();
+                if (attempt >= maxRetries) {
+                    throw new IllegalStateException("상품 문서 적재 실패: " + failedIds.size() + "건, productId=" + failedIds.iterator().next());
+                }
+            } catch (IOException | ElasticsearchException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+            }
+            Thread.sleep(Math.min(500L << attempt, MAX_BACKOFF_MILLIS));
+        }
+    }
+
+    private BulkOperation createOperation(String targetIndex, ProductDocument document) {
+        return BulkOperation.of(op -> op.create(c -> c
+                .index(targetIndex)
+                .id(String.valueOf(document.getProduct_id()))
+                .document(document)));
+    }
+
+    // 현재 new-product 의 매핑, 분석기 설정으로 새 버전 인덱스 생성 (적재 중에는 replica 0, refresh 중지)
+    private String createTargetIndex() throws IOException {
+        IndexState source = client.indices().get(g -> g.index(ESUtil.PRODUCT_INDEX)).result().values().iterator().next();
+        IndexSettings settings = source.settings().index() != null ? source.settings().index() : source.settings();
+        String targetIndex = ESUtil.PRODUCT_INDEX + "-v" + LocalDateTime.now().format(VERSION_FORMAT);
+
+        client.indices().create(c -> c
+                .index(targetIndex)
+                .mappings(source.mappings())
+                .settings(s -> {
+                    s.numberOfShards(settings.numberOfShards())
+                            .numberOfReplicas("0")
+                            .refreshInterval(t -> t.time("-1"));
+                    if (settings.analysis() != null) {
+                        s.analysis(settings.analysis());
+                    }
+                    if (settings.defaultPipeline() != null) {
+                        s.defaultPipeline(settings.defaultPipeline());
+                    }
+                    return s;
+                }));
+        log.info("[ProductReindexService] 재색인 인덱스 생성: {}", targetIndex);
+        return targetIndex;
+    }
+
+    // 운영 설정 복구 후 alias 교체 (이전 버전 인덱스는 되돌릴 수 있도록 남겨 둠)
+    // - new-product 가 alias 가 아닌 실제 인덱스인 최초 전환에서는 같은 요청 안에서 그 인덱스를 삭제하고 alias 를 만듦
+    private void swapAlias(String targetIndex) throws IOException {
+        client.indices().putSettings(s -> s
+                .index(targetIndex)
+                .settings(i -> i
+                        .numberOfReplicas(replicas)
+                        .refreshInterval(t -> t.time(refreshInterval))));
+        client.indices().refresh(r -> r.index(targetIndex));
+
+        boolean aliased = client.indices().existsAlias(e -> e.name(ESUtil.PRODUCT_INDEX)).value();
+        List<String> previous = aliased
+                ? new ArrayList<>(client.indices().getAlias(g -> g.name(ESUtil.PRODUCT_INDEX)).result().keySet())
+                : List.of(ESUtil.PRODUCT_INDEX);
+
+        client.indices().updateAliases(u -> {
+            for (String index : previous) {
+                if (aliased) {
+                    u.actions(a -> a.remove(r -> r.index(index).alias(ESUtil.PRODUCT_INDEX)));
+                } else {
+                    u.actions(a -> a.removeIndex(r -> r.index(index)));
+                }
+            }
+            return u.actions(a -> a.add(ad -> ad.index(targetIndex).alias(ESUtil.PRODUCT_INDEX).isWriteIndex(true)));
+        });
+        log.info("[ProductReindexService] {} alias 교체: {} -> {}", ESUtil.PRODUCT_INDEX, previous, targetIndex);
+    }
+
+    private static double docsPerSecond(long docs, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds <= 0 ? 0 : docs / seconds;
+    }
+
+    private AdminResDto.SearchReindexResDto readState(String key) {
+        Object value = redisTemplate.opsForValue().get(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value.toString(), AdminResDto.SearchReindexResDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("재색인 체크포인트를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private void saveState(String key, AdminResDto.SearchReindexResDto state) {
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(state));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("재색인 체크포인트를 저장할 수 없습니다.", e);
+        }
+    }
+
+    private void renewLock(String token) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(LOCK_KEY), token, String.valueOf(LOCK_TTL.toMillis()));
+            if (renewed == null || renewed != 1L) {
+                log.warn("[ProductReindexService] 재색인 락을 잃음, 다른 재색인이 시작될 수 있음");
+            }
+        } catch (RuntimeException e) {
+            log.warn("[ProductReindexService] 재색인 락 연장 실패", e);
+        }
+    }
+
+    private void releaseLock(String token) {
+        try {
+            if (token.equals(redisTemplate.opsForValue().get(LOCK_KEY))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[ProductReindexService] 재색인 락 해제 실패", e);
+        }
+    }
+}
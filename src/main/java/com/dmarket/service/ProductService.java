@@ -12,6 +12,7 @@ import com.dmarket.domain.user.User;
 import com.dmarket.dto.common.*;
 import com.dmarket.dto.request.ReviewReqDto;
 import com.dmarket.dto.response.CategoryResDto;
+import com.dmarket.dto.response.CursorResDto;
 import com.dmarket.dto.response.ProductResDto;
 import com.dmarket.dto.response.QnaResDto;
 import com.dmarket.elastic.ESUtil;
@@ -21,7 +22,9 @@ import com.dmarket.repository.product.*;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.apache.http.Header;
 import org.apache.http.HttpHost;
 import org.apache.http.message.BasicHeader;
@@ -37,6 +40,8 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -56,8 +61,10 @@ public class ProductService {
     private final ProductImgsRepository productImgsRepository;
     private final ProductOptionRepository productOptionRepository;
     private final ProductReviewRepository productReviewRepository;
+    private final ProductListingRepository productListingRepository;
     private final UserService userService;
     private final ElasticsearchService elasticsearchService;
+    private final ProductIndexService productIndexService;
 
     private static final int PRODUCT_PAGE_POST_COUNT = 16;
     private static final int QNA_PAGE_POST_COUNT = 5;
@@ -105,8 +112,53 @@ public class ProductService {
         maxPrice = maxPrice < 0 ? MAX_VALUE : maxPrice;
         star = starValidation(star);
 
-        Pageable pageable = PageRequest.of(pageNo, PRODUCT_PAGE_POST_COUNT, Sort.by(Sort.Direction.DESC, sorter));
-        return productRepository.findByCateId(pageable, cateId, minPrice, maxPrice, star);
+        Pageable pageable = PageRequest.of(pageNo, PRODUCT_PAGE_POST_COUNT,
+                Sort.by(Sort.Direction.DESC, sorter).and(Sort.by(Sort.Direction.DESC, "productId")));
+        return productListingRepository.findByCateId(pageable, cateId, minPrice, maxPrice, star);
+    }
+
+    // 카테고리별 상품 목록 커서 조회 (정렬 키 + productId 기준으로 다음 페이지 조회, 전체 개수는 요청 시에만 계산)
+    public CursorResDto<ProductResDto.ProductListResDto> getCategoryProductsByCursor(String cursor, Long cateId, String sorter,
+                                                                                    Integer minPrice, Integer maxPrice, Float star,
+                                                                                    boolean withTotal) {
+        findCategoryById(cateId);
+        sorter = sorterTranslate(sorterValidation(sorter));
+        minPrice = minPrice > MAX_VALUE ? MAX_VALUE : minPrice;
+        maxPrice = maxPrice < 0 ? MAX_VALUE : maxPrice;
+        star = starValidation(star);
+
+        CursorDto last = CursorDto.decode(cursor);
+        Pageable limit = PageRequest.of(0, PRODUCT_PAGE_POST_COUNT + 1);
+        List<ProductListing> rows;
+        Function<ProductListing, CursorDto> cursorOf;
+        if (sorter.equals("productCreatedDate")) {
+            rows = productListingRepository.findByCateIdAfterCreatedDate(cateId, minPrice, maxPrice, star,
+                    last.dateKey(), last.getId(), limit);
+            cursorOf = l -> CursorDto.of(l.getProductCreatedDate(), l.getProductId());
+        } else if (sorter.equals("reviewCnt")) {
+            rows = productListingRepository.findByCateIdAfterReviewCnt(cateId, minPrice, maxPrice, star,
+                    last.longKey(), last.getId(), limit);
+            cursorOf = l -> CursorDto.of(l.getReviewCnt(), l.getProductId());
+        } else {
+            rows = productListingRepository.findByCateIdAfterRating(cateId, minPrice, maxPrice, star,
+                    last.intKey(), last.getId(), limit);
+            cursorOf = l -> CursorDto.of(l.getRatingKey(), l.getProductId());
+        }
+
+        Long totalCount = withTotal ? productListingRepository.countByCateId(cateId, minPrice, maxPrice, star) : null;
+        return CursorResDto.of(rows, PRODUCT_PAGE_POST_COUNT, cursorOf, totalCount)
+                .map(l -> new ProductResDto.ProductListResDto(l.getProductId(), l.getProductBrand(), l.getProductName(),
+                        l.getProductImg(), l.getProductSalePrice(), l.getProductDiscountRate(), l.getProductRating(), l.getReviewCnt()));
+    }
+
+    // 상품 목록 읽기 모델이 비어 있거나 평점 정렬 키가 없는 행이 있으면 전체 재계산 (최초 배포 시)
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void initProductListing() {
+        if (productListingRepository.count() == 0 || productListingRepository.existsByRatingKeyIsNull()) {
+            productListingRepository.refreshAll();
+            log.info("상품 목록 읽기 모델 초기화");
+        }
     }
 
     // 상품 목록 조건 검색
@@ -127,8 +179,9 @@ public class ProductService {
 
 
     //new getsearch
-    public ProductResDto.ProductSearchListResDto getSearchProducts(int pageNo, String query, String sorter,
+    public ProductResDto.ProductSearchListResDto getSearchProducts(int pageNo, String cursor, String query, String sorter,
                                                              Integer minPrice, Integer maxPrice, Float star) throws IOException {
+        query = SearchCacheService.normalizeQuery(query);
         if (query.isEmpty()) {
             throw new BadRequestException(INVALID_SEARCH_VALUE);
         }
@@ -139,11 +192,27 @@ public class ProductService {
         star = starValidation(star);
 
         if (sorter.equals("review_count")){
-            return elasticsearchService.getElasticSearchProductsReviewORder(pageNo, query, sorter, minPrice, maxPrice, star);
+            return elasticsearchService.getElasticSearchProductsReviewORder(pageNo, cursor, query, minPrice, maxPrice, star);
         }
         return elasticsearchService.getElasticSearchProducts(pageNo, query, sorter, minPrice, maxPrice, star);
     }
 
+    // 상품 목록 조건 검색 (비동기)
+    public CompletableFuture<ProductResDto.ProductSearchListResDto> getSearchProductsAsync(int pageNo, String cursor, String query, String sorter,
+                                                                                       Integer minPrice, Integer maxPrice, Float star) {
+        query = SearchCacheService.normalizeQuery(query);
+        if (query.isEmpty()) {
+            throw new BadRequestException(INVALID_SEARCH_VALUE);
+        }
+        sorter = sorterValidation(sorter);
+        pageNo = pageValidation(pageNo);
+        minPrice = minPrice < 0 ? 0 : minPrice > MAX_VALUE ? MAX_VALUE : minPrice;
+        maxPrice = maxPrice < minPrice ? minPrice : maxPrice > MAX_VALUE ? MAX_VALUE : maxPrice;
+        star = starValidation(star);
+
+        return elasticsearchService.searchProductsAsync(pageNo, cursor, query, sorter, minPrice, maxPrice, star);
+    }
+
     // 추천 상품 조회
     public List<ProductResDto.RecommendProductResDto> recommendProduct(Long productId) {
 
@@ -313,6 +382,12 @@ public class ProductService {
 
         // 상품 정보에 별점 반영
         updateProductRating(productId, reviewReqDto.getReviewRating());
+
+        // 상품 목록 읽기 모델에 리뷰 수, 별점 반영
+        productListingRepository.refresh(productId);
+
+        // 검색 인덱스의 리뷰 수, 별점 반영
+        productIndexService.enqueue(productId);
     }
 
     @Transactional
@@ -335,8 +410,10 @@ public class ProductService {
     //리뷰 삭제
     @Transactional
     public void deleteReviewByReviewId(Long reviewId) {
-        findReviewById(reviewId);
+        ProductReview review = findReviewById(reviewId);
         productReviewRepository.deleteByReviewId(reviewId);
+        productListingRepository.refresh(review.getProductId());
+        productIndexService.enqueue(review.getProductId());
     }
 
 
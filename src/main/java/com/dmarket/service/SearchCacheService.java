@@ -0,0 +1,150 @@
+package com.dmarket.service;
+
+import com.dmarket.dto.response.ProductResDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * 상품 검색 결과 캐시
+ * - L1: 서버별 Caffeine 캐시 (크기 제한), L2: Redis (서버 간 공유)
+ * - 키에 인덱스 세대(generation)를 포함하고, 상품 등록/수정 시 세대를 올려 이전 결과를 한 번에 무효화
+ * - 각 서버는 search.cache.generation-check-millis 주기로 Redis 의 세대를 확인
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchCacheService {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${search.cache.local-max-size:10000}")
+    private long localMaxSize;
+    @Value("${search.cache.local-ttl-millis:60000}")
+    private long localTtlMillis;
+    @Value("${search.cache.redis-ttl-millis:300000}")
+    private long redisTtlMillis;
+    @Value("${search.cache.generation-check-millis:1000}")
+    private long generationCheckMillis;
+
+    private static final String GENERATION_KEY = "search:generation";
+    private static final String RESULT_KEY_PREFIX = "search:result:";
+
+    private Cache<String, ProductResDto.ProductSearchListResDto> localCache;
+
+    private volatile long generation = 0;
+    private volatile long generationCheckedAt = 0;
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMillis(localTtlMillis))
+                .build();
+    }
+
+    // 검색어 정규화 (유니코드 정규화, 앞뒤 공백 제거, 연속 공백 하나로, 소문자)
+    public static String normalizeQuery(String query) {
+        return Normalizer.normalize(query, Normalizer.Form.NFC)
+                .trim()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // 캐시 키: 세대 + 검색 조건 (검색어는 normalizeQuery 를 거친 값)
+    public String key(String query, String sorter, Integer minPrice, Integer maxPrice, Float star, int pageNo, String cursor) {
+        return currentGeneration() + ":" + query + "|" + sorter + "|" + minPrice + "-" + maxPrice + "|"
+                + String.format(Locale.ROOT, "%.1f", star) + "|" + pageNo + "|" + (cursor == null ? "" : cursor);
+    }
+
+    public ProductResDto.ProductSearchListResDto get(String key) {
+        ProductResDto.ProductSearchListResDto cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Object value = redisTemplate.opsForValue().get(RESULT_KEY_PREFIX + key);
+            if (value == null) {
+                return null;
+            }
+            cached = objectMapper.readValue(value.toString(), ProductResDto.ProductSearchListResDto.class);
+            localCache.put(key, cached);
+            return cached;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[SearchCacheService] 캐시 조회 실패: key={}", key, e);
+            return null;
+        }
+    }
+
+    public void put(String key, ProductResDto.ProductSearchListResDto result) {
+        localCache.put(key, result);
+        try {
+            redisTemplate.opsForValue().set(RESULT_KEY_PREFIX + key, objectMapper.writeValueAsString(result),
+                    Duration.ofMillis(redisTtlMillis));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[SearchCacheService] 캐시 저장 실패: key={}", key, e);
+        }
+    }
+
+    // 인덱스 세대 증가 (트랜잭션 커밋 후 반영)
+    public void bumpGeneration() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementGeneration();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incrementGeneration();
+            }
+        });
+    }
+
+    private void incrementGeneration() {
+        try {
+            Long next = redisTemplate.opsForValue().increment(GENERATION_KEY);
+            if (next != null) {
+                changeGeneration(next);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[SearchCacheService] 검색 캐시 세대 증가 실패", e);
+            localCache.invalidateAll();
+        }
+    }
+
+    private long currentGeneration() {
+        long now = System.currentTimeMillis();
+        if (now - generationCheckedAt >= generationCheckMillis) {
+            generationCheckedAt = now;
+            try {
+                Object value = redisTemplate.opsForValue().get(GENERATION_KEY);
+                changeGeneration(value == null ? 0 : Long.parseLong(value.toString()));
+            } catch (RuntimeException e) {
+                log.warn("[SearchCacheService] 검색 캐시 세대 조회 실패", e);
+            }
+        }
+        return generation;
+    }
+
+    // 세대가 바뀌면 이전 세대의 L1 항목은 더 이상 조회되지 않으므로 비움
+    private synchronized void changeGeneration(long latest) {
+        if (latest != generation) {
+            generation = latest;
+            localCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.dmarket.service;
+
+import com.dmarket.repository.product.ProductOptionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 옵션 재고 예약
+ * - 주문 시 product_option 행을 잠그지 않고 옵션별 원자 카운터에서 재고를 예약
+ * - 트랜잭션 커밋 시 예약 확정, 롤백 시 예약 반환
+ * - 확정된 차감 수량은 주기적으로 product_option 에 일괄 반영 (write-behind)
+ * - stock.redis-mirror.enabled=true 이면 카운터와 미반영 차감 수량을 Redis 에 두어 여러 서버가 같은 재고를 공유
+ * - 로컬 카운터(기본값)는 서버마다 DB 재고 전체를 팔 수 있으므로 서버 한 대일 때만 사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final ProductOptionRepository productOptionRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${stock.redis-mirror.enabled:false}")
+    private boolean redisMirrorEnabled;
+
+    private static final String STOCK_KEY_PREFIX = "stock:option:";
+    private static final String PENDING_KEY_PREFIX = "stock:pending:";
+
+    // 옵션별 판매 가능 재고 (예약된 수량이 이미 차감된 값)
+    private final ConcurrentHashMap<Long, AtomicInteger> availableStocks = new ConcurrentHashMap<>();
+
+    // 주문은 확정되었지만 product_option 에 아직 반영되지 않은 차감 수량
+    private final ConcurrentHashMap<Long, AtomicInteger> pendingDeductions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (!redisMirrorEnabled) {
+            log.warn("[StockReservationService] 로컬 재고 카운터 사용 중, 서버가 여러 대이면 재고보다 많이 팔릴 수 있으므로 stock.redis-mirror.enabled=true 필요");
+        }
+    }
+
+    // 재고 예약 (현재 트랜잭션이 커밋되면 확정, 롤백되면 반환)
+    public void reserve(Long optionId, Integer count) {
+        if (redisMirrorEnabled) {
+            reserveOnRedis(optionId, count);
+        } else {
+            reserveOnLocal(optionId, count);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commit(optionId, count);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    commit(optionId, count);
+                } else {
+                    release(optionId, count);
+                }
+            }
+        });
+    }
+
+    // 여러 옵션 재고 예약 (카운터가 없는 옵션은 IN 쿼리 한 번으로 적재)
+    public void reserveAll(Map<Long, Integer> countsByOptionId) {
+        if (!redisMirrorEnabled) {
+            List<Long> missingIds = countsByOptionId.keySet().stream()
+                    .filter(optionId -> !availableStocks.containsKey(optionId))
+                    .toList();
+            if (!missingIds.isEmpty()) {
+                // 미반영 수량을 먼저 읽음 (loadStock 과 같은 이유)
+                Map<Long, Integer> pendings = missingIds.stream()
+                        .collect(Collectors.toMap(Function.identity(), this::pendingOf));
+                productOptionRepository.findAllById(missingIds).forEach(option ->
+                        availableStocks.putIfAbsent(option.getOptionId(),
+                                new AtomicInteger(option.getOptionQuantity() - pendings.get(option.getOptionId()))));
+            }
+        }
+        countsByOptionId.forEach(this::reserve);
+    }
+
+    // 관리자 재고 추가 후 카운터에 반영 (DB 반영은 호출하는 쪽에서 처리, 커밋된 뒤에만 반영)
+    public void restock(Long optionId, Integer count) {
+        afterCommit(() -> addStock(optionId, count));
+    }
+
+    // 옵션 삭제, 재등록 시 카운터 제거 (다음 예약 때 DB 값으로 다시 적재)
+    // 커밋 전에 지우면 그 사이 예약이 이전 재고를 다시 적재하므로 커밋된 뒤에 제거
+    public void evict(Long optionId) {
+        afterCommit(() -> {
+            availableStocks.remove(optionId);
+            if (redisMirrorEnabled) {
+                redisTemplate.delete(STOCK_KEY_PREFIX + optionId);
+            }
+        });
+    }
+
+    private void addStock(Long optionId, Integer count) {
+        if (redisMirrorEnabled) {
+            String key = STOCK_KEY_PREFIX + optionId;
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                redisTemplate.opsForValue().increment(key, count);
+            }
+            return;
+        }
+        availableStocks.computeIfPresent(optionId, (id, stock) -> {
+            stock.addAndGet(count);
+            return stock;
+        });
+    }
+
+    // 확정된 차감 수량을 product_option 에 반영
+    // 미반영 수량은 UPDATE 가 커밋된 뒤에 줄임 (그 사이에 재고를 다시 읽으면 적게 잡힐 뿐 많게 잡히지 않음)
+    @Scheduled(fixedDelayString = "${stock.flush-interval-millis:1000}")
+    public void flush() {
+        pendingDeductions.forEach((optionId, pending) -> {
+            int count = pending.get();
+            if (count == 0) {
+                return;
+            }
+            try {
+                productOptionRepository.addOptionQuantity(optionId, -count);
+            } catch (RuntimeException e) {
+                // 반영 실패 시 다음 주기에 다시 시도
+                log.warn("[StockReservationService] 재고 반영 실패: optionId={}, count={}", optionId, count, e);
+                return;
+            }
+            pending.addAndGet(-count);
+            if (redisMirrorEnabled) {
+                redisTemplate.opsForValue().increment(PENDING_KEY_PREFIX + optionId, -count);
+            }
+        });
+    }
+
+    // 서버 종료 전 남은 차감 수량 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void reserveOnLocal(Long optionId, Integer count) {
+        AtomicInteger stock = availableStocks.computeIfAbsent(optionId, id -> new AtomicInteger(loadStock(id)));
+        while (true) {
+            int current = stock.get();
+            if (current < count) {
+                throw new IllegalStateException(outOfStockMessage(optionId, count, current));
+            }
+            if (stock.compareAndSet(current, current - count)) {
+                return;
+            }
+        }
+    }
+
+    private void reserveOnRedis(Long optionId, Integer count) {
+        String key = STOCK_KEY_PREFIX + optionId;
+        ValueOperations<String, Object> values = redisTemplate.opsForValue();
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            values.setIfAbsent(key, String.valueOf(loadSharedStock(optionId)));
+        }
+
+        Long rest = values.increment(key, -count);
+        if (rest == null || rest < 0) {
+            values.increment(key, count);
+            int current = rest == null ? 0 : (int) (rest + count);
+            throw new IllegalStateException(outOfStockMessage(optionId, count, current));
+        }
+    }
+
+    private void commit(Long optionId, Integer count) {
+        pendingDeductions.computeIfAbsent(optionId, id -> new AtomicInteger()).addAndGet(count);
+        if (redisMirrorEnabled) {
+            redisTemplate.opsForValue().increment(PENDING_KEY_PREFIX + optionId, count);
+        }
+    }
+
+    private void release(Long optionId, Integer count) {
+        if (redisMirrorEnabled) {
+            redisTemplate.opsForValue().increment(STOCK_KEY_PREFIX + optionId, count);
+            return;
+        }
+        availableStocks.computeIfPresent(optionId, (id, stock) -> {
+            stock.addAndGet(count);
+            return stock;
+        });
+    }
+
+    // DB 재고에서 아직 반영되지 않은 차감 수량을 뺀 값 (미반영 수량을 먼저 읽음)
+    private int loadStock(Long optionId) {
+        int pending = pendingOf(optionId);
+        Integer quantity = productOptionRepository.findOptionQuantityByOptionId(optionId);
+        if (quantity == null) {
+            throw new IllegalArgumentException("존재하지 않는 옵션입니다.");
+        }
+        return quantity - pending;
+    }
+
+    // DB 재고에서 모든 서버의 미반영 차감 수량을 뺀 값 (미반영 수량을 먼저 읽음)
+    private int loadSharedStock(Long optionId) {
+        Object pending = redisTemplate.opsForValue().get(PENDING_KEY_PREFIX + optionId);
+        Integer quantity = productOptionRepository.findOptionQuantityByOptionId(optionId);
+        if (quantity == null) {
+            throw new IllegalArgumentException("존재하지 않는 옵션입니다.");
+        }
+        return quantity - (pending == null ? 0 : Integer.parseInt(pending.toString()));
+    }
+
+    private int pendingOf(Long optionId) {
+        AtomicInteger pending = pendingDeductions.get(optionId);
+        return pending == null ? 0 : pending.get();
+    }
+
+    // 트랜잭션 안이면 커밋 후 실행 (롤백되면 실행하지 않음)
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private String outOfStockMessage(Long optionId, Integer count, int current) {
+        return "[재고 부족]: optionId=" + optionId + ", 요청 재고=" + count + ", 현재 재고=" + current;
+    }
+}
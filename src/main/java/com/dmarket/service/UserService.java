@@ -36,6 +36,7 @@ import java.security.SecureRandom;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.dmarket.exception.ErrorCode.*;
@@ -129,10 +130,11 @@ public class UserService {
         isValidEmail(toEmail);
         String title = "Dmarket 회원가입 인증번호";
         String authCode = createCode();
-        mailService.sendEmail(toEmail, title, authCode);
 
         // 이메일 인증 요청 시 인증 번호 Redis에 저장 ( key = auth:email:abc@gachon.ac.kr / value = 000000 )
+        // 메일은 비동기로 발송되므로 인증 번호를 먼저 저장
         redisService.setValues(AUTH_CODE_PREFIX + toEmail, authCode, Duration.ofMillis(this.authCodeExpirationMillis));
+        mailService.sendEmail(toEmail, title, authCode);
     }
 
     //이메일 인증 코드 유효성 검사
@@ -355,6 +357,17 @@ public Page<OrderResDto<OrderDetailResDto>> getOrderDetailsWithoutReviewByUserId
         return mileageRepository.findByUserId(pageable, userId);
     }
 
+    // 마일리지 사용 내역 커서 조회 (변경일 + mileageId 기준)
+    public CursorResDto<MileageCommonDto.MileageDto> getMileageUsageByCursor(Long userId, String cursor, boolean withTotal) {
+        findUserById(userId);
+        CursorDto last = CursorDto.decode(cursor);
+        List<Mileage> rows = mileageRepository.findByUserIdAfter(userId, last.dateKey(), last.getId(),
+                PageRequest.of(0, DEFAULT_PAGE_SIZE + 1));
+        Long totalCount = withTotal ? mileageRepository.countByUserId(userId) : null;
+        return CursorResDto.of(rows, DEFAULT_PAGE_SIZE, m -> CursorDto.of(m.getMileageDate(), m.getMileageId()), totalCount)
+                .map(m -> new MileageCommonDto.MileageDto(m.getMileageDate(), m.getMileageInfo(), m.getChangeMileage(), m.getRemainMileage()));
+    }
+
     // 마일리지 충전 요청
     @Transactional
     public void mileageChargeReq(Long userId, Integer mileageCharge) {
@@ -410,13 +423,14 @@ public Page<OrderResDto<OrderDetailResDto>> getOrderDetailsWithoutReviewByUserId
                 });
 //        Page<Order> orders = orderRepository.findByUserId(pageable, userId);
 
-        Long confPayCount = orderDetailRepository.safeCountOrderDetailByUserIdAndOrderDetailState(userId, OrderDetailState.ORDER_COMPLETE);
-        Long preShipCount = orderDetailRepository.safeCountOrderDetailByUserIdAndOrderDetailState(userId, OrderDetailState.DELIVERY_READY);
-        Long inTransitCount = orderDetailRepository.safeCountOrderDetailByUserIdAndOrderDetailState(userId, OrderDetailState.DELIVERY_ING);
-        Long cmpltDilCount = orderDetailRepository.safeCountOrderDetailByUserIdAndOrderDetailState(userId, OrderDetailState.DELIVERY_COMPLETE);
-        Long orderCancelCount = orderDetailRepository.safeCountOrderDetailByUserIdAndOrderDetailState(userId, OrderDetailState.ORDER_CANCEL);
-        Long returnCount = orderDetailRepository.safeCountOrderDetailByUserIdAndOrderDetailState(userId, OrderDetailState.RETURN_REQUEST) +
-                orderDetailRepository.safeCountOrderDetailByUserIdAndOrderDetailState(userId, OrderDetailState.RETURN_COMPLETE);
+        // 주문 상태별 건수 (GROUP BY 쿼리 한 번)
+        Map<OrderDetailState, Long> stateCounts = orderDetailRepository.countOrderDetailStates(userId);
+        Long confPayCount = stateCounts.get(OrderDetailState.ORDER_COMPLETE);
+        Long preShipCount = stateCounts.get(OrderDetailState.DELIVERY_READY);
+        Long inTransitCount = stateCounts.get(OrderDetailState.DELIVERY_ING);
+        Long cmpltDilCount = stateCounts.get(OrderDetailState.DELIVERY_COMPLETE);
+        Long orderCancelCount = stateCounts.get(OrderDetailState.ORDER_CANCEL);
+        Long returnCount = stateCounts.get(OrderDetailState.RETURN_REQUEST) + stateCounts.get(OrderDetailState.RETURN_COMPLETE);
 
 
         OrderResDto.OrderListResDto orderListResDto = new OrderResDto.OrderListResDto();
@@ -463,6 +477,19 @@ public Page<OrderResDto<OrderDetailResDto>> getOrderDetailsWithoutReviewByUserId
         return orderListResDto;
     }
 
+    // 주문 / 배송 내역 커서 조회 (주문일 + orderId 기준, 상태별 개수는 기존 목록 api 에서 조회)
+    public CursorResDto<OrderCommonDto.OrderListDto> getOrderListByCursor(Long userId, String cursor, boolean withTotal) {
+        CursorDto last = CursorDto.decode(cursor);
+        List<Order> rows = orderRepository.findByUserIdAfter(userId, last.dateKey(), last.getId(),
+                PageRequest.of(0, DEFAULT_PAGE_SIZE + 1));
+        Long totalCount = withTotal ? orderRepository.countByUserId(userId) : null;
+        CursorResDto<Order> page = CursorResDto.of(rows, DEFAULT_PAGE_SIZE, o -> CursorDto.of(o.getOrderDate(), o.getOrderId()), totalCount);
+        // 페이지의 주문 상세를 IN 쿼리 한 번으로 조회
+        Map<Long, List<ProductCommonDto.ProductDetailListDto>> detailsByOrderId = orderDetailRepository.findOrderDetailsByOrderIds(
+                page.getContent().stream().map(Order::getOrderId).toList());
+        return page.map(o -> new OrderCommonDto.OrderListDto(o, detailsByOrderId.get(o.getOrderId())));
+    }
+
     // 환불 요청
     @Transactional
     public OrderResDto.OrderDetailListResDto postOrderReturn(Long orderDetailId, String returnContents, int pageNo) {
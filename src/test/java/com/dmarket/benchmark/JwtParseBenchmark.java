@@ -0,0 +1,54 @@
+package com.dmarket.benchmark;
+
+import com.dmarket.jwt.JWTUtil;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * 요청당 JWT 검증 비용 측정 (JWTFilter 가 토큰에서 type, email, role, userId, 만료를 읽는 비용)
+ * - 실행: ./gradlew benchmark
+ * - legacy: claim 마다 parser 생성 + 서명 검증 (5회), parseOnce: 공유 parser 로 한 번 검증, cached: 검증 결과 캐시
+ */
+@Tag("benchmark")
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    @DisplayName("요청당 JWT 검증 비용")
+    public void authCostPerRequest() {
+        JWTUtil jwtUtil = new JWTUtil(SECRET, 0, 0);
+        JWTUtil cachedJwtUtil = new JWTUtil(SECRET, 10_000, 30_000);
+        String token = jwtUtil.createAccessJwt(1L, "user@dmarket.com", "ROLE_USER");
+        SecretKey secretKey = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+
+        System.out.println("mode,nsPerRequest");
+        measure("legacy", token, t -> {
+            for (String claim : new String[]{"exp", "type", "email", "role", "userId"}) {
+                Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(t).getPayload().get(claim);
+            }
+        });
+        measure("parseOnce", token, jwtUtil::parseClaims);
+        measure("cached", token, cachedJwtUtil::parseClaims);
+    }
+
+    private void measure(String mode, String token, Consumer<String> auth) {
+        for (int i = 0; i < WARMUP; i++) {
+            auth.accept(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            auth.accept(token);
+        }
+        System.out.printf("%s,%.0f%n", mode, (System.nanoTime() - start) / (double) ITERATIONS);
+    }
+}
@@ -0,0 +1,106 @@
+package com.dmarket.benchmark;
+
+import com.dmarket.domain.product.ProductOption;
+import com.dmarket.domain.user.User;
+import com.dmarket.dto.request.OrderReqDto;
+import com.dmarket.repository.product.ProductOptionRepository;
+import com.dmarket.repository.user.UserRepository;
+import com.dmarket.service.OrderService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 장바구니 크기별 결제(payment) 지연 시간 측정
+ * - 실행: ./gradlew benchmark
+ * - 매 결제는 flush 후 롤백되므로 데이터와 재고는 변하지 않음
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class OrderPaymentBenchmark {
+
+    private static final int[] CART_SIZES = {1, 5, 10, 20, 50};
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 30;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductOptionRepository productOptionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("장바구니 크기별 결제 지연 시간")
+    public void paymentLatencyByCartSize() {
+        User user = userRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+        int maxSize = Arrays.stream(CART_SIZES).max().getAsInt();
+        List<ProductOption> options = productOptionRepository.findAll(PageRequest.of(0, maxSize)).getContent();
+
+        System.out.println("cartSize,avgMillis,p95Millis");
+        for (int cartSize : CART_SIZES) {
+            if (cartSize > options.size()) {
+                break;
+            }
+            OrderReqDto.OrderPaymentReqDto dto = paymentReq(user.getUserId(), options.subList(0, cartSize));
+
+            for (int i = 0; i < WARMUP; i++) {
+                paymentAndRollback(dto);
+            }
+            long[] elapsed = new long[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                elapsed[i] = paymentAndRollback(dto);
+            }
+            Arrays.sort(elapsed);
+            double avg = Arrays.stream(elapsed).average().orElse(0) / 1_000_000.0;
+            double p95 = elapsed[(int) (ITERATIONS * 0.95) - 1] / 1_000_000.0;
+            System.out.printf("%d,%.3f,%.3f%n", cartSize, avg, p95);
+        }
+    }
+
+    // 결제 + flush 시간 측정 후 롤백
+    private long paymentAndRollback(OrderReqDto.OrderPaymentReqDto dto) {
+        long[] elapsed = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            long start = System.nanoTime();
+            orderService.payment(dto);
+            entityManager.flush();
+            elapsed[0] = System.nanoTime() - start;
+            status.setRollbackOnly();
+        });
+        return elapsed[0];
+    }
+
+    private OrderReqDto.OrderPaymentReqDto paymentReq(Long userId, List<ProductOption> options) {
+        OrderReqDto.OrderPaymentReqDto dto = new OrderReqDto.OrderPaymentReqDto();
+        dto.setUserId(userId);
+        dto.setOrderTotalPrice(0);
+        dto.setOrderTotalPay(0);
+        dto.setOrderDetailList(options.stream().map(option -> {
+            OrderReqDto.OrderPaymentReqDto.OrderDetail detail = new OrderReqDto.OrderPaymentReqDto.OrderDetail();
+            detail.setProductId(option.getProductId());
+            detail.setOptionId(option.getOptionId());
+            detail.setOrderDetailCount(1);
+            detail.setOrderDetailPrice(0);
+            detail.setOrderDetailSalePrice(0);
+            return detail;
+        }).toArray(OrderReqDto.OrderPaymentReqDto.OrderDetail[]::new));
+        return dto;
+    }
+}
@@ -0,0 +1,97 @@
+package com.dmarket.benchmark;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.dmarket.dto.response.AdminResDto;
+import com.dmarket.service.ProductReindexService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 합성 상품 카탈로그의 검색 인덱스 재색인 처리량(docs/s) 측정
+ * - 실행: ./gradlew benchmark (상품 수 변경: -Dbenchmark.reindex.products=N, 기본 100만 건)
+ * - 기존 상품 뒤의 id 로 합성 상품, 이미지, 목록 읽기 모델을 넣고 별도 인덱스에 적재한 뒤 모두 삭제 (new-product alias 는 건드리지 않음)
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class ProductReindexBenchmark {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.reindex.products", 1_000_000);
+    private static final int INSERT_BATCH = 5_000;
+    private static final String BENCHMARK_INDEX = "product-reindex-benchmark";
+
+    @Autowired
+    private ProductReindexService productReindexService;
+
+    @Autowired
+    private ElasticsearchClient client;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("합성 카탈로그 재색인 처리량")
+    public void reindexThroughput() throws Exception {
+        Long maxProductId = jdbcTemplate.queryForObject("select coalesce(max(product_id), 0) from product", Long.class);
+        long baseProductId = maxProductId;
+
+        try {
+            insertCatalog(baseProductId);
+            client.indices().create(c -> c
+                    .index(BENCHMARK_INDEX)
+                    .settings(s -> s.numberOfReplicas("0").refreshInterval(t -> t.time("-1"))));
+
+            AdminResDto.SearchReindexResDto checkpoint = new AdminResDto.SearchReindexResDto(
+                    BENCHMARK_INDEX, ProductReindexService.RUNNING, baseProductId, 0L, 0.0, LocalDateTime.now(), null);
+            long start = System.nanoTime();
+            productReindexService.load(checkpoint, progress -> { });
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.println("products,seconds,docsPerSecond");
+            System.out.printf("%d,%.1f,%.0f%n", checkpoint.getIndexedCount(), seconds, checkpoint.getIndexedCount() / seconds);
+        } finally {
+            client.indices().delete(d -> d.index(BENCHMARK_INDEX).ignoreUnavailable(true));
+            jdbcTemplate.update("delete from product_listing where product_id > ?", baseProductId);
+            jdbcTemplate.update("delete from product_imgs where product_id > ?", baseProductId);
+            jdbcTemplate.update("delete from product where product_id > ?", baseProductId);
+        }
+    }
+
+    // 합성 상품, 대표 이미지, 목록 읽기 모델 적재
+    private void insertCatalog(long baseProductId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 1; from <= PRODUCTS; from += INSERT_BATCH) {
+            int to = Math.min(from + INSERT_BATCH - 1, PRODUCTS);
+            List<Object[]> products = new ArrayList<>();
+            List<Object[]> imgs = new ArrayList<>();
+            List<Object[]> listings = new ArrayList<>();
+            for (int i = from; i <= to; i++) {
+                long productId = baseProductId + i;
+                long categoryId = i % 20 + 1;
+                int price = 10_000 + i % 90_000;
+                float rating = (i % 50) / 10.0f;
+                String name = "벤치마크 상품 " + i;
+                String img = "https://example.com/benchmark/" + i + ".jpg";
+                products.add(new Object[]{productId, categoryId, "벤치마크", name, price, price, 0, "합성 상품 설명 " + i, rating, now});
+                imgs.add(new Object[]{productId, img});
+                listings.add(new Object[]{productId, categoryId, "벤치마크", name, img, price, 0, rating, Math.round(rating * 100),
+                        (long) (i % 100), true, now});
+            }
+            jdbcTemplate.batchUpdate("insert into product (product_id, category_id, product_brand, product_name, product_price, " +
+                    "product_sale_price, product_discount_rate, product_description, product_rating, product_created_date) " +
+                    "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", products);
+            jdbcTemplate.batchUpdate("insert into product_imgs (product_id, img_address) values (?, ?)", imgs);
+            jdbcTemplate.batchUpdate("insert into product_listing (product_id, category_id, product_brand, product_name, product_img, " +
+                    "product_sale_price, product_discount_rate, product_rating, rating_key, review_cnt, in_stock, product_created_date) " +
+                    "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", listings);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDoc
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 
 import org.springframework.restdocs.mockmvc.MockMvcRestDocumentation;
 
@@ -16,17 +17,33 @@ import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.transaction.annotation.Transactional;
 import com.dmarket.TestUtility;
 import com.dmarket.controller.AdminController;
+import com.dmarket.constant.MileageContents;
+import com.dmarket.constant.OrderDetailState;
+import com.dmarket.constant.ReturnState;
+import com.dmarket.domain.order.Order;
+import com.dmarket.domain.order.OrderDetail;
+import com.dmarket.domain.order.Return;
+import com.dmarket.domain.user.Mileage;
 import com.dmarket.domain.user.User;
+import com.dmarket.dto.common.CursorDto;
 
 import com.dmarket.dto.request.FaqReqDto;
 import com.dmarket.dto.request.InquiryReqDto;
 import com.dmarket.dto.request.NoticeReqDto;
+import com.dmarket.dto.request.RefundReqDto;
 import com.dmarket.dto.request.UserReqDto;
+import com.dmarket.jwt.JWTUtil;
+import com.dmarket.repository.order.OrderDetailRepository;
+import com.dmarket.repository.order.OrderRepository;
+import com.dmarket.repository.order.ReturnRepository;
+import com.dmarket.repository.user.MileageRepository;
+import com.dmarket.repository.user.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import java.util.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -44,6 +61,24 @@ public class AdminIntegrationTest{
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JWTUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MileageRepository mileageRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderDetailRepository orderDetailRepository;
+
+    @Autowired
+    private ReturnRepository returnRepository;
+
 
 
     private String token;
@@ -424,4 +459,35 @@ public class AdminIntegrationTest{
                 .andDo(MockMvcRestDocumentation.document("get-returns-list"))
                 .andDo(MockMvcResultHandlers.print());
     }
+
+    @Test
+    @DisplayName("주문 취소 환불 후 사용 내역의 잔액은 적립 후 잔액")
+    public void putRefundRecordsRemainMileage() throws Exception {
+        Long userId = 9L;
+        Long orderId = orderRepository.save(new Order(userId, 5000, 5000)).getOrderId();
+        Long orderDetailId = orderDetailRepository.save(new OrderDetail(orderId, 1L, 1L,
+                OrderDetailState.ORDER_CANCEL, 1, 5000, 5000)).getOrderDetailId();
+        Long returnId = returnRepository.save(Return.builder()
+                .orderDetailId(orderDetailId)
+                .returnState(ReturnState.COLLECT_COMPLETE)
+                .returnReason("테스트 환불")
+                .build()).getReturnId();
+        Integer balance = userRepository.findMileageByUserId(userId);
+
+        mockMvc.perform(put("/api/admin/cancel-order-details")
+                .header("Authorization", "Bearer " + jwtUtil.createAccessJwt(userId, "dbsrl1026@gachon.ac.kr", "ROLE_GM"))
+                .content(objectMapper.writeValueAsString(new RefundReqDto(100, returnId)))
+                .contentType("application/json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andDo(MockMvcResultHandlers.print());
+
+        Integer remain = userRepository.findMileageByUserId(userId);
+        assertEquals(balance + 5000, remain);
+        Mileage history = mileageRepository.findByUserIdAfter(userId, CursorDto.MAX_DATE, Long.MAX_VALUE,
+                PageRequest.of(0, 1)).get(0);
+        assertEquals(MileageContents.REFUND, history.getMileageInfo());
+        assertEquals(5000, history.getChangeMileage());
+        assertEquals(remain, history.getRemainMileage());
+    }
 }
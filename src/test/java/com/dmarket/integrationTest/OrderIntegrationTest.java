@@ -0,0 +1,129 @@
+package com.dmarket.integrationTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dmarket.constant.MileageContents;
+import com.dmarket.domain.product.ProductOption;
+import com.dmarket.domain.user.Mileage;
+import com.dmarket.dto.common.CursorDto;
+import com.dmarket.jwt.JWTUtil;
+import com.dmarket.repository.product.ProductOptionRepository;
+import com.dmarket.repository.user.MileageRepository;
+import com.dmarket.repository.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class OrderIntegrationTest {
+
+    private static final Long USER_ID = 9L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JWTUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MileageRepository mileageRepository;
+
+    @Autowired
+    private ProductOptionRepository productOptionRepository;
+
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        token = "Bearer " + jwtUtil.createAccessJwt(USER_ID, "dbsrl1026@gachon.ac.kr", "ROLE_GM");
+    }
+
+    @Test
+    @DisplayName("마일리지 잔액보다 큰 금액 결제")
+    public void paymentWithInsufficientMileage() throws Exception {
+        Integer balance = userRepository.findMileageByUserId(USER_ID);
+        long historyCount = mileageRepository.countByUserId(USER_ID);
+
+        mockMvc.perform(post("/api/order/payment")
+                .header("Authorization", token)
+                .content(objectMapper.writeValueAsString(paymentReq(1L, balance + 1)))
+                .contentType("application/json"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.msg").value("마일리지 잔액이 부족합니다."))
+                .andDo(MockMvcResultHandlers.print());
+
+        // 잔액과 사용 내역은 그대로
+        assertEquals(balance, userRepository.findMileageByUserId(USER_ID));
+        assertEquals(historyCount, mileageRepository.countByUserId(USER_ID));
+    }
+
+    @Test
+    @DisplayName("결제 후 사용 내역의 잔액은 차감 후 잔액")
+    public void paymentRecordsRemainMileage() throws Exception {
+        userRepository.creditMileage(USER_ID, 1000);
+        Integer balance = userRepository.findMileageByUserId(USER_ID);
+        ProductOption option = productOptionRepository.save(ProductOption.builder()
+                .productId(1L)
+                .optionName("테스트")
+                .optionValue("테스트 옵션")
+                .optionQuantity(10)
+                .build());
+
+        mockMvc.perform(post("/api/order/payment")
+                .header("Authorization", token)
+                .content(objectMapper.writeValueAsString(paymentReq(option.getOptionId(), 1000)))
+                .contentType("application/json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andDo(MockMvcResultHandlers.print());
+
+        Integer remain = userRepository.findMileageByUserId(USER_ID);
+        assertEquals(balance - 1000, remain);
+        Mileage history = latestMileage();
+        assertEquals(MileageContents.PURCHASE, history.getMileageInfo());
+        assertEquals(-1000, history.getChangeMileage());
+        assertEquals(remain, history.getRemainMileage());
+    }
+
+    private Map<String, Object> paymentReq(Long optionId, Integer pay) {
+        Map<String, Object> detail = new HashMap<>();
+        detail.put("productId", 1L);
+        detail.put("optionId", optionId);
+        detail.put("orderDetailCount", 1);
+        detail.put("orderDetailPrice", pay);
+        detail.put("orderDetailSalePrice", pay);
+
+        Map<String, Object> req = new HashMap<>();
+        req.put("userId", USER_ID);
+        req.put("orderTotalPrice", pay);
+        req.put("orderTotalPay", pay);
+        req.put("orderDetailList", List.of(detail));
+        return req;
+    }
+
+    private Mileage latestMileage() {
+        return mileageRepository.findByUserIdAfter(USER_ID, CursorDto.MAX_DATE, Long.MAX_VALUE, PageRequest.of(0, 1)).get(0);
+    }
+}
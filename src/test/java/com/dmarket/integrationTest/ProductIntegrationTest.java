@@ -12,6 +12,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.restdocs.mockmvc.MockMvcRestDocumentation;
 
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +31,7 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import java.util.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -93,6 +95,34 @@ public class ProductIntegrationTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    @DisplayName("카테고리별 상품 목록 커서 조회")
+    public void getCategoryProductsByCursor() throws Exception {
+        Long cateId = 2L;
+        mockMvc.perform(get("/api/products/categories/" + cateId + "/cursor")
+                .header("Authorization", token)
+                .param("total", "true")
+                .contentType("application/json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.content").isArray())
+                .andExpect(jsonPath("$.data.totalCount").exists())
+                .andDo(MockMvcRestDocumentation.document("get-category-products-by-cursor"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("카테고리별 상품 목록 커서 조회 - 잘못된 커서")
+    public void getCategoryProductsByInvalidCursor() throws Exception {
+        Long cateId = 2L;
+        mockMvc.perform(get("/api/products/categories/" + cateId + "/cursor")
+                .header("Authorization", token)
+                .param("cursor", "invalid-cursor!")
+                .contentType("application/json"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400));
+    }
+
     @Test
     @DisplayName("카테고리별 상품 목록 조건 조회")
     public void getSearchProducts() throws Exception {
@@ -107,6 +137,23 @@ public class ProductIntegrationTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    @DisplayName("상품 목록 조건 비동기 검색")
+    public void getSearchProductsAsync() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/products/search/async")
+                .header("Authorization", token)
+                .param("q", "나이키")
+                .contentType("application/json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.msg").value("성공"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     @DisplayName("최신 상품 조회")
     public void getLatestProducts() throws Exception {
@@ -11,6 +11,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.restdocs.mockmvc.MockMvcRestDocumentation;
 
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +27,7 @@ import com.dmarket.dto.request.UserReqDto;
 import com.dmarket.dto.request.UserReqDto.Emails;
 import com.dmarket.dto.request.WishListReqDto;
 import com.dmarket.jwt.JWTUtil;
+import com.dmarket.repository.user.RefreshTokenStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.auth0.jwt.JWT;
@@ -50,6 +52,9 @@ public class UserIntegrationTest {
     @Autowired
     private JWTUtil jwtUtil;
 
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
     private String token;
 
     @BeforeEach
@@ -421,4 +426,73 @@ public class UserIntegrationTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    @DisplayName("Refresh 토큰으로 재발급")
+    public void refreshToken() throws Exception {
+        String refreshToken = createTestRefreshToken();
+
+        mockMvc.perform(get("/api/users/" + 9L + "/cart-count")
+                .header("Authorization", "Bearer " + refreshToken)
+                .contentType("application/json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.msg").value("새로운 토큰 발급 Success"))
+                .andExpect(jsonPath("$.data.accesstoken").isNotEmpty())
+                .andExpect(jsonPath("$.data.refreshtoken").isNotEmpty())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("이미 교체된 Refresh 토큰 재사용")
+    public void reuseRotatedRefreshToken() throws Exception {
+        String refreshToken = createTestRefreshToken();
+        rotate(refreshToken);
+
+        mockMvc.perform(get("/api/users/" + 9L + "/cart-count")
+                .header("Authorization", "Bearer " + refreshToken)
+                .contentType("application/json"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.code").value(401))
+                .andExpect(jsonPath("$.msg").value("이미 사용된 Refresh토큰입니다. 다시 로그인 해주세요."))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("재사용 감지 후 같은 로그인의 현재 Refresh 토큰 사용")
+    public void useCurrentRefreshTokenAfterReuse() throws Exception {
+        String refreshToken = createTestRefreshToken();
+        String currentRefreshToken = rotate(refreshToken);
+
+        // 교체된 토큰 재사용으로 같은 로그인의 토큰까지 폐기
+        mockMvc.perform(get("/api/users/" + 9L + "/cart-count")
+                .header("Authorization", "Bearer " + refreshToken)
+                .contentType("application/json"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/users/" + 9L + "/cart-count")
+                .header("Authorization", "Bearer " + currentRefreshToken)
+                .contentType("application/json"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.code").value(401))
+                .andExpect(jsonPath("$.msg").value("Refresh토큰이 없습니다. 다시 로그인 해주세요."))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    // 로그인과 같이 access, refresh 토큰을 새 계열로 저장
+    private String createTestRefreshToken() {
+        String refreshToken = jwtUtil.createRefreshJwt(9L);
+        refreshTokenStore.save(refreshToken, createTestToken());
+        return refreshToken;
+    }
+
+    // refresh 토큰으로 재발급 받은 새 refresh 토큰
+    private String rotate(String refreshToken) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/users/" + 9L + "/cart-count")
+                .header("Authorization", "Bearer " + refreshToken)
+                .contentType("application/json"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString())
+                .path("data").path("refreshtoken").asText();
+    }
 }